@@ -4,6 +4,7 @@ import com.study.StudyCafe.entity.Seat;
 import com.study.StudyCafe.entity.StudyZone;
 import com.study.StudyCafe.repository.SeatRepository;
 import com.study.StudyCafe.repository.StudyZoneRepository;
+import com.study.StudyCafe.service.ReferenceDataCache;
 import com.study.StudyCafe.service.SeatService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
@@ -19,6 +20,7 @@ public class DataInitializer implements CommandLineRunner {
     private final StudyZoneRepository studyZoneRepository;
     private final SeatRepository seatRepository;     // ✅ 좌석 수정용
     private final SeatService seatService;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
     public void run(String... args) throws Exception {
@@ -30,6 +32,7 @@ public class DataInitializer implements CommandLineRunner {
             System.out.println("✅ 지점 및 좌석 초기 데이터 생성 완료!");
 
             loadSeatTagsFromCsv(); // ✅ 좌석 태그 설정 CSV 로딩
+            referenceDataCache.invalidateAll(); // ✅ 초기화 전에 캐시된 기준 데이터 폐기
         } else {
             System.out.println("ℹ️ 지점 데이터가 이미 존재합니다. 초기화 생략.");
         }
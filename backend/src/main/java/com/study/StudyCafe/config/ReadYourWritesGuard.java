@@ -0,0 +1,51 @@
+package com.study.StudyCafe.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자가 직접 쓴 직후 짧은 시간 동안은 읽기도 primary 로 보내기 위한 기록.
+ * 키는 인증 주체 이름(이메일 또는 provider:providerId), 값은 마지막 쓰기 시각(ms).
+ */
+public class ReadYourWritesGuard {
+
+    private final long windowMs;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesGuard(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public void markWrite(String principal) {
+        if (principal == null) return;
+        lastWrites.put(principal, System.currentTimeMillis());
+    }
+
+    public boolean recentlyWrote(String principal) {
+        if (principal == null) return false;
+        Long at = lastWrites.get(principal);
+        if (at == null) return false;
+        if (System.currentTimeMillis() - at < windowMs) return true;
+        lastWrites.remove(principal, at);
+        return false;
+    }
+
+    /** 오래된 기록 정리 (읽기가 없는 사용자 기록이 쌓이지 않도록) */
+    @Scheduled(fixedRate = 60_000)
+    public void prune() {
+        long cutoff = System.currentTimeMillis() - windowMs;
+        lastWrites.values().removeIf(at -> at < cutoff);
+    }
+
+    /** 현재 요청의 인증 주체 (비로그인/익명이면 null) */
+    public static String currentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken || !auth.isAuthenticated()) return null;
+        return auth.getName();
+    }
+}
@@ -0,0 +1,72 @@
+package com.study.StudyCafe.config;
+
+import com.study.StudyCafe.entity.Seat;
+import com.study.StudyCafe.service.HoldQuotaService;
+import com.study.StudyCafe.service.RedisSeatHoldStore;
+import com.study.StudyCafe.service.SeatAvailabilityIndex;
+import com.study.StudyCafe.service.ZoneVersionRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.listener.KeyExpirationEventMessageListener;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 홀드 만료(expired keyspace 알림) → 인덱스/존 버전/홀드 개수 갱신 + 존 토픽 브로드캐스트.
+ * 모든 인스턴스가 알림을 받으므로 각자 자기 인덱스와 WebSocket 구독자에게 반영한다.
+ * SeatExpireScheduler 의 주기 스윕을 대신한다 (seat.hold.store=redis).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "seat.hold.store", havingValue = "redis")
+public class RedisHoldExpiryListener extends KeyExpirationEventMessageListener {
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final ZoneVersionRegistry zoneVersionRegistry;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final HoldQuotaService holdQuotaService;
+
+    public RedisHoldExpiryListener(RedisMessageListenerContainer container,
+                                   SeatAvailabilityIndex seatAvailabilityIndex,
+                                   ZoneVersionRegistry zoneVersionRegistry,
+                                   SimpMessagingTemplate messagingTemplate,
+                                   HoldQuotaService holdQuotaService,
+                                   @Value("${seat.hold.redis.notify-keyspace-events:Ex}") String notifyConfig) {
+        super(container);
+        this.seatAvailabilityIndex = seatAvailabilityIndex;
+        this.zoneVersionRegistry = zoneVersionRegistry;
+        this.messagingTemplate = messagingTemplate;
+        this.holdQuotaService = holdQuotaService;
+        // 빈 값이면 CONFIG SET 을 생략 (관리형 Redis 는 서버 설정으로 켠다)
+        setKeyspaceNotificationsConfigParameter(notifyConfig);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Long[] ids = RedisSeatHoldStore.parseKey(message.toString());
+        if (ids == null) return;
+        Long zoneId = ids[0];
+        Long seatId = ids[1];
+        // 키가 시간대별이라 만료된 시간대 홀드만 지운다 (같은 좌석의 다른 시간대 홀드는 유지)
+        LocalDateTime start = RedisSeatHoldStore.fromEpoch(ids[2]);
+        LocalDateTime end = RedisSeatHoldStore.fromEpoch(ids[3]);
+
+        seatAvailabilityIndex.onHoldCleared(zoneId, seatId, start, end);
+        holdQuotaService.onCleared(seatId, start, end);
+        zoneVersionRegistry.record(zoneId, List.of(seatId), Seat.STATUS_AVAILABLE);
+
+        // 프론트가 기대하는 형식으로 존별 브로드캐스트
+        messagingTemplate.convertAndSend("/topic/seats/" + zoneId, Map.of(
+                "seatIds", List.of(seatId),
+                "status", "available"
+        ));
+        log.debug("홀드 만료: zoneId={}, seatId={}, {}~{}", zoneId, seatId, start, end);
+    }
+}
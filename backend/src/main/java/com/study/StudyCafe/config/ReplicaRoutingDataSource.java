@@ -0,0 +1,37 @@
+package com.study.StudyCafe.config;
+
+import com.study.StudyCafe.service.AfterCommit;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * readOnly 트랜잭션은 replica, 그 외(홀드/예약/결제 쓰기, 트랜잭션 밖 호출)는 primary.
+ * 최근에 직접 쓴 사용자의 읽기는 복제 지연을 피하기 위해 primary 로 보낸다.
+ * LazyConnectionDataSourceProxy 뒤에 두어야 트랜잭션의 readOnly 플래그가 정해진 뒤에 라우팅된다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReadYourWritesGuard guard;
+
+    public ReplicaRoutingDataSource(ReadYourWritesGuard guard) {
+        this.guard = guard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String principal = ReadYourWritesGuard.currentPrincipal();
+
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return guard.recentlyWrote(principal) ? PRIMARY : REPLICA;
+        }
+
+        // 쓰기 트랜잭션: 커밋 시점부터 창을 잰다
+        if (principal != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            AfterCommit.run(() -> guard.markWrite(principal));
+        }
+        return PRIMARY;
+    }
+}
@@ -3,25 +3,104 @@ package com.study.StudyCafe.config;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.study.StudyCafe.dto.seat.SeatEvent;
+import com.study.StudyCafe.entity.SeatEventOutbox;
+import com.study.StudyCafe.repository.SeatEventOutboxRepository;
+import com.study.StudyCafe.service.SeatEventOutboxRelay;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.*;
+
+/**
+ * 좌석 변경 이벤트 발행기.
+ * Redis 로 직접 보내지 않고 seat_event_outbox 에 기록하며, 실제 발행은 {@link SeatEventOutboxRelay} 가 한다.
+ * 트랜잭션 안에서는 모아 두었다가 커밋 직전에 같은 트랜잭션으로 기록 (롤백 시 함께 사라짐).
+ * 같은 존 · 같은 변경(status/eventType/사용자/holdUntil)은 seatIds 를 합쳐 한 행으로 만든다.
+ */
 @Component
 @RequiredArgsConstructor
 public class SeatEventPublisher {
 
-    private final RedisTemplate<String, String> redisStringTemplate;
+    private final SeatEventOutboxRepository outboxRepository;
+    private final SeatEventOutboxRelay outboxRelay;
     private final ObjectMapper objectMapper;
 
     public void publishSeatEvent(SeatEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxRepository.save(toOutbox(event));
+            outboxRelay.signal();
+            return;
+        }
+        pending().add(event);
+    }
+
+    // 트랜잭션마다 버퍼 하나 (첫 호출 때 바인딩 + 동기화 등록)
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private SeatEventOutbox toOutbox(SeatEvent event) {
         try {
-            String json = objectMapper.writeValueAsString(event);
-            redisStringTemplate.convertAndSend("seat-events", json);
+            return new SeatEventOutbox(event.getZoneId(), objectMapper.writeValueAsString(event));
         } catch (JsonProcessingException e) {
-            System.err.println("Redis 메시지 직렬화 실패: " + e.getMessage());
-            e.printStackTrace();
+            // ✅ 좌석 변경과 이벤트는 함께 커밋되어야 하므로 직렬화 실패는 트랜잭션을 되돌린다
+            throw new IllegalStateException("좌석 이벤트 직렬화 실패: " + event, e);
         }
     }
-}
 
+    private static String coalesceKey(SeatEvent e) {
+        return e.getZoneId() + "|" + e.getStatus() + "|" + e.getEventType() + "|" + e.getByUserId() + "|" + e.getHoldUntil();
+    }
+
+    /** 트랜잭션 동안 모은 이벤트: 존/변경 단위로 seatIds 를 합친다 */
+    private final class Pending implements TransactionSynchronization {
+
+        private final Map<String, SeatEvent> byKey = new LinkedHashMap<>();
+
+        void add(SeatEvent event) {
+            SeatEvent merged = byKey.computeIfAbsent(coalesceKey(event), k -> new SeatEvent(
+                    new ArrayList<>(), event.getStatus(), event.getHoldUntil(),
+                    event.getByUserId(), event.getEventType(), event.getZoneId()));
+            for (Long seatId : event.getSeatIds()) {
+                if (!merged.getSeatIds().contains(seatId)) merged.getSeatIds().add(seatId);
+            }
+        }
+
+        // REQUIRES_NEW 등으로 바깥 트랜잭션이 잠시 멈추면 버퍼도 같이 내려놓는다
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(SeatEventPublisher.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(SeatEventPublisher.this, this);
+        }
+
+        // ✅ 커밋 직전, 좌석 변경과 같은 트랜잭션에서 아웃박스 기록
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (byKey.isEmpty()) return;
+            outboxRepository.saveAll(byKey.values().stream().map(SeatEventPublisher.this::toOutbox).toList());
+        }
+
+        @Override
+        public void afterCommit() {
+            outboxRelay.signal();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SeatEventPublisher.this);
+            byKey.clear();
+        }
+    }
+}
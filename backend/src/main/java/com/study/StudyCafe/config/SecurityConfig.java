@@ -88,6 +88,8 @@ public class SecurityConfig {
                         .requestMatchers("/ws-seat/**").permitAll()
                         .requestMatchers("/", "/assets/**", "/login/**", "/oauth2/**", "/error","/register").permitAll() // ✅ 추가
                         .requestMatchers("/uploads/**").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // 메트릭 등 내부 정보
                         .anyRequest().authenticated()
                 )
                 .oauth2Login(oauth -> oauth
@@ -107,7 +109,7 @@ public class SecurityConfig {
         c.setAllowedOrigins(List.of("http://43.201.178.143:3000")); // * 쓰지 말기 (allowCredentials=true)
         c.setAllowedMethods(Arrays.asList("GET","POST","PUT","DELETE","OPTIONS"));
         c.setAllowedHeaders(Arrays.asList("Content-Type","Authorization","X-Requested-With"));
-        c.setExposedHeaders(List.of("Location")); // 선택
+        c.setExposedHeaders(List.of("Location", "Retry-After")); // 선택
         c.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource s = new UrlBasedCorsConfigurationSource();
         s.registerCorsConfiguration("/**", c);
@@ -0,0 +1,6 @@
+package com.study.StudyCafe.constant;
+
+// 결제 이벤트 출처: 브라우저가 보낸 예약 요청(좌석/시간 포함) | 아임포트 웹훅(결제 완료 알림)
+public enum PaymentEventSource {
+    CLIENT, WEBHOOK
+}
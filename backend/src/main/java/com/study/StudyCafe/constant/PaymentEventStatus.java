@@ -0,0 +1,5 @@
+package com.study.StudyCafe.constant;
+
+public enum PaymentEventStatus {
+    RECEIVED, PROCESSING, PROCESSED, FAILED
+}
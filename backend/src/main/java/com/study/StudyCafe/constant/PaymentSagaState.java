@@ -0,0 +1,10 @@
+package com.study.StudyCafe.constant;
+
+// 결제 확정 사가 단계
+// STARTED → VERIFIED → RESERVED (정상)
+// STARTED → UNVERIFIED (게이트웨이 조회 실패 또는 아직 결제 전, 예: 가상계좌 ready → 스케줄러/늦은 웹훅이 다시 확인)
+// STARTED | UNVERIFIED → REJECTED (게이트웨이가 미결제/취소를 확정, 환불할 것 없음. 이후 paid 웹훅이 오면 다시 확인)
+// VERIFIED → COMPENSATING → REFUNDED | REFUND_FAILED (예약 실패 → 자동 환불, 실패 시 스케줄러 재시도)
+public enum PaymentSagaState {
+    STARTED, UNVERIFIED, VERIFIED, RESERVED, REJECTED, COMPENSATING, REFUNDED, REFUND_FAILED
+}
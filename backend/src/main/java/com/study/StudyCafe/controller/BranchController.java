@@ -1,11 +1,13 @@
 package com.study.StudyCafe.controller;
 
 import com.study.StudyCafe.dto.NLP.BranchDto;
-import com.study.StudyCafe.entity.StudyZone;
-import com.study.StudyCafe.repository.StudyZoneRepository;
+import com.study.StudyCafe.service.ReferenceDataCache;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -14,15 +16,18 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BranchController {
 
-    private final StudyZoneRepository studyZoneRepository;
+    private final ReferenceDataCache referenceDataCache;
 
     @GetMapping
-    public List<BranchDto> getBranches() {
-        return studyZoneRepository.findAll().stream()
+    public ResponseEntity<List<BranchDto>> getBranches() {
+        List<BranchDto> branches = referenceDataCache.zones().stream()
                 .map(z -> new BranchDto(
                         z.getZoneName() != null ? z.getZoneName() : "지점#" + z.getId(),
                         z.getId()
                 ))
                 .collect(Collectors.toList());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(branches);
     }
 }
@@ -1,10 +1,13 @@
 package com.study.StudyCafe.controller;
 
+import com.study.StudyCafe.constant.PaymentSagaState;
 import com.study.StudyCafe.dto.payment.PaymentDetailDto;
 import com.study.StudyCafe.dto.payment.PaymentRequestDto;
 import com.study.StudyCafe.dto.payment.PaymentResponseDto;
+import com.study.StudyCafe.dto.payment.PaymentWebhookDto;
 import com.study.StudyCafe.entity.User;
 import com.study.StudyCafe.repository.UserRepository;
+import com.study.StudyCafe.service.PaymentEventService;
 import com.study.StudyCafe.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +25,7 @@ import java.util.Map;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentEventService paymentEventService;
     private final UserRepository userRepository;
 
     // ✅ 결제 검증 및 예약
@@ -29,17 +33,58 @@ public class PaymentController {
     public ResponseEntity<PaymentResponseDto> verifyAndProcessPayment(
             @RequestBody PaymentRequestDto dto
     ) {
-        boolean result = paymentService.verifyAndReserve(dto);
+        PaymentSagaState state = paymentService.verifyAndReserve(dto);
 
         PaymentResponseDto response = new PaymentResponseDto();
         response.setMerchantUid(dto.getMerchantUid());
         response.setAmount(dto.getAmount());
-        response.setStatus(result ? "PAID" : "FAILED");
-        response.setMessage(result ? "결제 및 예약 완료" : "결제 실패 또는 예약 불가");
+        switch (state) {
+            case RESERVED -> {
+                response.setStatus("PAID");
+                response.setMessage("결제 및 예약 완료");
+            }
+            case STARTED, UNVERIFIED -> {
+                // 게이트웨이 확인 보류 → 서버가 다시 확인, 결과는 /{merchantUid}/status
+                response.setStatus("PENDING");
+                response.setMessage("결제 확인 중");
+            }
+            default -> {
+                response.setStatus("FAILED");
+                response.setMessage("결제 실패 또는 예약 불가");
+            }
+        }
 
         return ResponseEntity.ok(response);
     }
 
+    // ✅ 결제 완료 후 예약 요청 (접수만 하고 202, 결과는 /{merchantUid}/status 또는 /topic/payments/{merchantUid})
+    @PostMapping("/requests")
+    public ResponseEntity<PaymentResponseDto> requestReservation(@RequestBody PaymentRequestDto dto) {
+        paymentEventService.acceptRequest(dto);
+
+        PaymentResponseDto response = new PaymentResponseDto();
+        response.setMerchantUid(dto.getMerchantUid());
+        response.setAmount(dto.getAmount());
+        response.setStatus("PENDING");
+        response.setMessage("결제 확인 중");
+        return ResponseEntity.accepted().body(response);
+    }
+
+    // ✅ 아임포트 웹훅 (저장 후 바로 200, 결제 상태는 워커가 API 로 다시 조회해 확인)
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> webhook(@RequestBody PaymentWebhookDto dto) {
+        paymentEventService.acceptWebhook(dto);
+        return ResponseEntity.ok().build();
+    }
+
+    // ✅ 주문 처리 상태 조회
+    @GetMapping("/{merchantUid}/status")
+    public ResponseEntity<PaymentResponseDto> getStatus(@PathVariable String merchantUid) {
+        return paymentEventService.status(merchantUid)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
 //    // ✅ 결제 상세 조회
 //    @GetMapping("/{merchantUid}")
 //    public ResponseEntity<PaymentDetailDto> getPaymentDetail(@PathVariable String merchantUid) {
@@ -4,7 +4,7 @@ package com.study.StudyCafe.controller;
 import com.study.StudyCafe.entity.Payment;
 import com.study.StudyCafe.entity.User;
 import com.study.StudyCafe.repository.UserRepository;
-import com.study.StudyCafe.service.ReservationService;
+import com.study.StudyCafe.service.SeatCommandService;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -20,7 +20,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class ReserveController {
 
-    private final ReservationService reservationService;
+    private final SeatCommandService seatCommandService;
     private final UserRepository userRepository;
 
     @PostMapping("/reserve")
@@ -29,7 +29,7 @@ public class ReserveController {
         if (userId == null) return ResponseEntity.status(401).body("로그인이 필요합니다.");
 
         try {
-            reservationService.reserveSeats(body.getSeatIds(), userId, body.getStartTime(), body.getEndTime(), body.getPayment());
+            seatCommandService.reserveSeats(body.getSeatIds(), userId, body.getStartTime(), body.getEndTime(), body.getPayment());
             return ResponseEntity.ok("예약 완료");
         } catch (IllegalStateException e) {
             return ResponseEntity.status(400).body(e.getMessage());
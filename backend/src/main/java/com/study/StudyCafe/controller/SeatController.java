@@ -1,34 +1,34 @@
 // src/main/java/com/study/StudyCafe/controller/SeatController.java
 package com.study.StudyCafe.controller;
 
-import com.study.StudyCafe.dto.seat.SeatDto;
-import com.study.StudyCafe.entity.Seat;
 import com.study.StudyCafe.entity.User;
-import com.study.StudyCafe.repository.ReservationRepository;
-import com.study.StudyCafe.repository.SeatRepository;
 import com.study.StudyCafe.repository.UserRepository;
-import com.study.StudyCafe.service.SeatService;
+import com.study.StudyCafe.service.HoldQuotaService;
+import com.study.StudyCafe.service.SeatListingService;
+import com.study.StudyCafe.service.SeatCommandService;
+import com.study.StudyCafe.service.ZoneVersionRegistry;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class SeatController {
 
-    private final SeatRepository seatRepository;
-    private final ReservationRepository reservationRepository;
     private final UserRepository userRepository;
-    private final SeatService seatService;
+    private final SeatCommandService seatCommandService;
+    private final SeatListingService seatListingService;
+    private final ZoneVersionRegistry zoneVersionRegistry;
 
     @GetMapping("/seats")
     public ResponseEntity<?> getSeats(
@@ -38,6 +38,7 @@ public class SeatController {
             @RequestParam(required = false) String windowSide,
             @RequestParam(required = false) String outlet,
             @RequestParam(required = false) String quiet,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
             Principal principal
     ) {
         try {
@@ -65,72 +66,21 @@ public class SeatController {
             Boolean isOutlet = parseBoolean(outlet);
             Boolean isQuiet = parseBoolean(quiet);
 
-            var seats = Optional.ofNullable(seatRepository.findAllByZoneId(zoneId)).orElse(List.of());
-
-            if (seats.isEmpty()) {
-                Map<String, Object> emptyBody = new HashMap<>();
-                emptyBody.put("seats", List.of());
-                emptyBody.put("reservedSeatIds", Set.of());
-                emptyBody.put("holdingSeatIds", Set.of());
-                emptyBody.put("holdingByMeSeatIds", Set.of());
-                Map<String, Object> filters = new HashMap<>();
-                filters.put("zoneId", zoneId);
-                filters.put("windowSide", isWindowSide);
-                filters.put("outlet", isOutlet);
-                filters.put("quiet", isQuiet);
-                filters.put("startTime", startTime.toString());
-                filters.put("endTime", endTime.toString());
-                emptyBody.put("filters", filters);
-                return ResponseEntity.ok(emptyBody);
+            // ✅ 존 버전이 그대로면 좌석/예약 조회 없이 304 (버전은 조회 전에 읽어야 변경을 놓치지 않음)
+            // 버전을 믿을 수 없으면(다중 인스턴스, 또는 인덱스 대신 복제본에서 읽는 존) ETag 없이 항상 전체 응답
+            String eTag = zoneVersionRegistry.authoritative() && seatListingService.servesFromIndex(zoneId)
+                    ? seatsETag(zoneId, startTime, endTime, isWindowSide, isOutlet, isQuiet, principal)
+                    : null;
+            if (eTag != null && eTagMatches(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
             }
 
-            seats.stream()
-                    .filter(s -> "hold".equalsIgnoreCase(s.getStatus()) && !s.isHoldActive())
-                    .forEach(Seat::clearHold);
-
-            var reservations = reservationRepository.findOverlapping(zoneId, startTime, endTime);
-            var reservedSeatIds = reservations.stream()
-                    .map(r -> Optional.ofNullable(r.getSeat()).map(Seat::getId).orElse(null))
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toSet());
-
-            var holdingSeatIds = seats.stream()
-                    .filter(s -> "hold".equalsIgnoreCase(s.getStatus()) && s.isHoldActiveFor(startTime, endTime))
-                    .map(Seat::getId)
-                    .collect(Collectors.toSet());
-
             Long me = resolveUserId(principal).orElse(null);
-            var holdingByMeSeatIds = seats.stream()
-                    .filter(s -> "hold".equalsIgnoreCase(s.getStatus()) && s.isHoldActiveFor(startTime, endTime))
-                    .filter(s -> me != null && s.getHoldUser() != null && s.getHoldUser().getId().equals(me))
-                    .map(Seat::getId)
-                    .collect(Collectors.toSet());
-
-            Stream<Seat> stream = seats.stream();
-            if (isWindowSide != null) stream = stream.filter(s -> Objects.equals(Boolean.TRUE.equals(s.isWindowSide()), isWindowSide));
-            if (isOutlet != null)     stream = stream.filter(s -> Objects.equals(Boolean.TRUE.equals(s.getHasOutlet()), isOutlet));
-            if (isQuiet != null)      stream = stream.filter(s -> Objects.equals(Boolean.TRUE.equals(s.getIsQuiet()), isQuiet));
-
-            var filteredSeats = stream.toList();
-
-            var seatDtos = filteredSeats.stream().map(s -> {
-                String status = "available";
-                if (reservedSeatIds.contains(s.getId())) status = "reserved";
-                else if (holdingSeatIds.contains(s.getId())) status = "hold";
-
-                var dto = new SeatDto();
-                dto.setId(s.getId());
-                dto.setSeatName(s.getSeatName());
-                dto.setPosX(s.getPosX());
-                dto.setPosY(s.getPosY());
-                dto.setZoneId(s.getZone() != null ? s.getZone().getId() : null);
-                dto.setStatus(status);
-                dto.setHoldUntil(s.getHoldExpiresAt());
-                dto.setWindowSide(Boolean.TRUE.equals(s.isWindowSide()));
-                dto.setHasOutlet(Boolean.TRUE.equals(s.getHasOutlet()));
-                dto.setQuiet(Boolean.TRUE.equals(s.getIsQuiet()));
-                return dto;
-            }).toList();
+            var listing = seatListingService.list(zoneId, startTime, endTime, me, isWindowSide, isOutlet, isQuiet);
+            if (!listing.isFromIndex()) eTag = null;
 
             Map<String, Object> body = new HashMap<>();
             Map<String, Object> filters = new HashMap<>();
@@ -142,17 +92,62 @@ public class SeatController {
             filters.put("endTime", endTime.toString());
 
             body.put("filters", filters);
-            body.put("seats", seatDtos);
-            body.put("reservedSeatIds", reservedSeatIds);
-            body.put("holdingSeatIds", holdingSeatIds);
-            body.put("holdingByMeSeatIds", holdingByMeSeatIds);
+            body.put("seats", listing.getSeats());
+            body.put("reservedSeatIds", listing.getReservedSeatIds());
+            body.put("holdingSeatIds", listing.getHoldingSeatIds());
+            body.put("holdingByMeSeatIds", listing.getHoldingByMeSeatIds());
 
-            return ResponseEntity.ok(body);
+            if (eTag == null) {
+                return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+            }
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(body);
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(500).body("서버 오류가 발생했습니다.");
         }
     }
+    // ✅ 델타 동기화: since 버전 이후 바뀐 좌석만 (뒤처졌으면 전체 스냅샷)
+    @GetMapping("/seats/changes")
+    public ResponseEntity<?> getSeatChanges(
+            @RequestParam Long zoneId,
+            @RequestParam long since,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime,
+            Principal principal
+    ) {
+        if (!endTime.isAfter(startTime)) {
+            return ResponseEntity.badRequest().body("startTime/endTime이 올바르지 않습니다.");
+        }
+        Long me = resolveUserId(principal).orElse(null);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("zoneId", zoneId);
+
+        var delta = seatListingService.changesSince(zoneId, since, startTime, endTime, me);
+        if (delta.isPresent()) {
+            body.put("full", false);
+            body.put("version", delta.get().getVersion());
+            body.put("changes", delta.get().getChanges());
+            return ResponseEntity.ok(body);
+        }
+
+        // 버전은 조회 전에 읽는다 (조회 중 변경은 다음 동기화에서 다시 받음)
+        // 버전을 믿을 수 없으면 0 → 다음 요청도 전체 스냅샷
+        long version = zoneVersionRegistry.authoritative() ? zoneVersionRegistry.current(zoneId) : 0L;
+        var listing = seatListingService.list(zoneId, startTime, endTime, me, null, null, null);
+        if (!listing.isFromIndex()) version = 0L; // 복제본 데이터는 버전과 맞지 않음 → 다음에도 전체
+        body.put("full", true);
+        body.put("version", version);
+        body.put("seats", listing.getSeats());
+        body.put("reservedSeatIds", listing.getReservedSeatIds());
+        body.put("holdingSeatIds", listing.getHoldingSeatIds());
+        body.put("holdingByMeSeatIds", listing.getHoldingByMeSeatIds());
+        return ResponseEntity.ok(body);
+    }
+
     @PostMapping("/seats/hold")
     public ResponseEntity<?> holdSeat(@RequestBody HoldSeatRequest payload, Principal principal) {
         if (payload == null || payload.getSeatId() == null) {
@@ -166,8 +161,38 @@ public class SeatController {
         if (userId == null) return ResponseEntity.status(401).body("로그인이 필요합니다.");
 
         try {
-            seatService.holdSeat(payload.getSeatId(), userId, payload.getStartTime(), payload.getEndTime());
+            seatCommandService.holdSeat(payload.getSeatId(), userId, payload.getStartTime(), payload.getEndTime());
             return ResponseEntity.ok().build();
+        } catch (HoldQuotaService.QuotaExceededException e) {
+            return tooManyHolds(e);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ 단체 홀드: 전부 성공하거나 전부 실패 (좌석 id 순서로 잠금)
+    @PostMapping("/seats/hold-batch")
+    public ResponseEntity<?> holdSeats(@RequestBody HoldSeatsRequest payload, Principal principal) {
+        if (payload == null || payload.getSeatIds() == null || payload.getSeatIds().isEmpty()) {
+            return ResponseEntity.badRequest().body("seatIds는 필수입니다.");
+        }
+        if (payload.getStartTime() == null || payload.getEndTime() == null) {
+            return ResponseEntity.badRequest().body("startTime과 endTime은 필수입니다.");
+        }
+
+        Long userId = resolveUserId(principal).orElse(null);
+        if (userId == null) return ResponseEntity.status(401).body("로그인이 필요합니다.");
+
+        try {
+            var holds = seatCommandService.holdSeats(payload.getSeatIds(), userId, payload.getStartTime(), payload.getEndTime());
+            return ResponseEntity.ok(Map.of(
+                    "seatIds", holds.stream().map(h -> h.getSeatId()).toList(),
+                    "holdUntil", holds.get(0).getHoldExpiresAt()
+            ));
+        } catch (HoldQuotaService.QuotaExceededException e) {
+            return tooManyHolds(e);
         } catch (IllegalStateException e) {
             return ResponseEntity.status(409).body(e.getMessage());
         } catch (IllegalArgumentException e) {
@@ -184,7 +209,7 @@ public class SeatController {
         if (userId == null) return ResponseEntity.status(401).body("로그인이 필요합니다.");
 
         try {
-            seatService.releaseHold(payload.getSeatId(), userId);
+            seatCommandService.releaseHold(payload.getSeatId(), userId);
             return ResponseEntity.ok().build();
         } catch (IllegalStateException e) {
             return ResponseEntity.status(409).body(e.getMessage());
@@ -193,6 +218,32 @@ public class SeatController {
         }
     }
 
+    // ✅ 홀드 개수 제한 초과: 429 + 가장 빠른 본인 홀드 만료까지 Retry-After
+    private ResponseEntity<?> tooManyHolds(HoldQuotaService.QuotaExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    // 존 버전 + 요청 조건(시간대/필터/사용자)별로 구분되는 ETag
+    private String seatsETag(Long zoneId, LocalDateTime startTime, LocalDateTime endTime,
+                             Boolean windowSide, Boolean outlet, Boolean quiet, Principal principal) {
+        long version = zoneVersionRegistry.current(zoneId);
+        int variant = Objects.hash(startTime, endTime, windowSide, outlet, quiet,
+                principal != null ? principal.getName() : null);
+        return "\"z" + zoneId + "-v" + version + "-" + Integer.toHexString(variant) + "\"";
+    }
+
+    private boolean eTagMatches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(eTag) || c.equals("*")) return true;
+        }
+        return false;
+    }
+
     private Boolean parseBoolean(String value) {
         if (value == null) return null;
         return switch (value.toLowerCase()) {
@@ -233,5 +284,13 @@ public class SeatController {
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
         private LocalDateTime endTime;
     }
-}
 
+    @Data
+    public static class HoldSeatsRequest {
+        private List<Long> seatIds;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime startTime;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        private LocalDateTime endTime;
+    }
+}
@@ -1,11 +1,17 @@
 package com.study.StudyCafe.controller;
 
 import com.study.StudyCafe.dto.seat.StudyZoneDto;
-import com.study.StudyCafe.repository.StudyZoneRepository;
-import com.study.StudyCafe.entity.StudyZone;
+import com.study.StudyCafe.dto.seat.ZoneHeatmapDto;
+import com.study.StudyCafe.service.ReferenceDataCache;
+import com.study.StudyCafe.service.ZoneHeatmapService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,20 +19,27 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ZoneController {
 
-    private final StudyZoneRepository studyZoneRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ZoneHeatmapService zoneHeatmapService;
 
     // ✅ 모든 지역(Zone)을 DTO로 변환해서 반환
     @GetMapping
-    public List<StudyZoneDto> getAllZones() {
-        return studyZoneRepository.findAll().stream()
-                .map(StudyZoneDto::from) // ✅ Entity → DTO 변환
-                .toList();
+    public ResponseEntity<List<StudyZoneDto>> getAllZones() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(referenceDataCache.zones()); // ✅ 기준 데이터 캐시 (Entity → DTO 변환 포함)
     }
 
     @GetMapping("/{id}")
     public StudyZoneDto getZoneById(@PathVariable Long id) {
-        StudyZone zone = studyZoneRepository.findById(id)
+        return referenceDataCache.zone(id)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 zoneId: " + id));
-        return StudyZoneDto.from(zone);
+    }
+
+    // ✅ 하루 30분 단위 빈 좌석 수 (날짜 선택 화면용)
+    @GetMapping("/{id}/heatmap")
+    public ZoneHeatmapDto getHeatmap(@PathVariable Long id,
+                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return zoneHeatmapService.heatmap(id, date);
     }
 }
@@ -0,0 +1,16 @@
+package com.study.StudyCafe.dto.NLP;
+
+import com.study.StudyCafe.dto.seat.SeatDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BranchSearchResult {
+    private Long zoneId;
+    private String name;
+    private int availableCount;     // 조건에 맞는 빈 좌석 수 (전체)
+    private List<SeatDto> seats;    // 지점당 상한까지만
+}
@@ -0,0 +1,18 @@
+package com.study.StudyCafe.dto.payment;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+// 아임포트 웹훅 본문 (imp_uid, merchant_uid, status)
+@Getter
+@Setter
+public class PaymentWebhookDto {
+    @JsonProperty("imp_uid")
+    private String impUid;
+
+    @JsonProperty("merchant_uid")
+    private String merchantUid;
+
+    private String status; // paid, ready, failed, cancelled
+}
@@ -0,0 +1,16 @@
+package com.study.StudyCafe.dto.seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 좌석 가용성 인덱스 워밍용 (예약 구간만)
+@Data
+@AllArgsConstructor
+public class ReservationInterval {
+    private Long seatId;
+    private Long zoneId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+}
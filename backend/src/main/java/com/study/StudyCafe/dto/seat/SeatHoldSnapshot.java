@@ -0,0 +1,24 @@
+package com.study.StudyCafe.dto.seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// 좌석 홀드 한 건 (가용성 인덱스 워밍/만료 타이머용). holdId 는 seat_hold 행 id (redis 저장소는 null)
+@Data
+@AllArgsConstructor
+public class SeatHoldSnapshot {
+    private Long seatId;
+    private Long zoneId;
+    private Long holdUserId;
+    private LocalDateTime holdStartTime;
+    private LocalDateTime holdEndTime;
+    private LocalDateTime holdExpiresAt;
+    private Long holdId;
+
+    public SeatHoldSnapshot(Long seatId, Long zoneId, Long holdUserId,
+                            LocalDateTime holdStartTime, LocalDateTime holdEndTime, LocalDateTime holdExpiresAt) {
+        this(seatId, zoneId, holdUserId, holdStartTime, holdEndTime, holdExpiresAt, null);
+    }
+}
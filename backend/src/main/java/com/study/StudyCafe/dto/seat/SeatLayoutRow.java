@@ -0,0 +1,19 @@
+package com.study.StudyCafe.dto.seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// 좌석 배치/태그 (시간대와 무관한 정적 컬럼만)
+@Data
+@AllArgsConstructor
+public class SeatLayoutRow {
+    private Long id;
+    private String seatName;
+    private int posX;
+    private int posY;
+    private int price;
+    private Long zoneId;
+    private boolean windowSide;
+    private boolean hasOutlet;
+    private boolean quiet;
+}
@@ -0,0 +1,24 @@
+package com.study.StudyCafe.dto.seat;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 좌석 목록 읽기 모델: 배치/태그 + 요청 시간대 기준 겹침/홀드 플래그 (한 번의 SQL)
+@Getter
+public class SeatStatusRow extends SeatLayoutRow {
+    private final LocalDateTime holdExpiresAt;
+    private final boolean reserved;
+    private final boolean holding;
+    private final boolean holdingByMe;
+
+    public SeatStatusRow(Long id, String seatName, int posX, int posY, int price, Long zoneId,
+                         boolean windowSide, boolean hasOutlet, boolean quiet,
+                         LocalDateTime holdExpiresAt, boolean reserved, boolean holding, boolean holdingByMe) {
+        super(id, seatName, posX, posY, price, zoneId, windowSide, hasOutlet, quiet);
+        this.holdExpiresAt = holdExpiresAt;
+        this.reserved = reserved;
+        this.holding = holding;
+        this.holdingByMe = holdingByMe;
+    }
+}
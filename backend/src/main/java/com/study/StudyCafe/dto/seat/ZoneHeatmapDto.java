@@ -0,0 +1,25 @@
+package com.study.StudyCafe.dto.seat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ZoneHeatmapDto {
+    private Long zoneId;
+    private LocalDate date;
+    private int totalSeats;
+    private int slotMinutes;
+    private List<Slot> slots;
+
+    @Data
+    @AllArgsConstructor
+    public static class Slot {
+        private LocalTime start;
+        private int free;       // 해당 30분 구간에 예약/홀드가 없는 좌석 수
+    }
+}
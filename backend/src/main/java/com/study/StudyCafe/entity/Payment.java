@@ -10,7 +10,13 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "payments")
+@Table(
+        name = "payments",
+        indexes = {
+                @Index(name = "idx_payments_imp_uid", columnList = "imp_uid"),
+                @Index(name = "idx_payments_user_created", columnList = "user_id, created_at")
+        }
+)
 @Getter
 @Setter
 public class Payment {
@@ -0,0 +1,73 @@
+package com.study.StudyCafe.entity;
+
+import com.study.StudyCafe.constant.PaymentEventSource;
+import com.study.StudyCafe.constant.PaymentEventStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 처리 대기열 항목 (웹훅/브라우저 요청을 받자마자 저장하고 바로 응답).
+ * PaymentEventWorker 가 available_at 이 지난 RECEIVED 항목을 가져가 merchantUid 단위로 처리한다.
+ */
+@Entity
+@Table(
+        name = "payment_event",
+        indexes = {
+                @Index(name = "idx_payment_event_ready", columnList = "status, available_at"),
+                @Index(name = "idx_payment_event_merchant", columnList = "merchant_uid, source")
+        }
+)
+@Getter @Setter @ToString
+@NoArgsConstructor
+public class PaymentEvent {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "merchant_uid", nullable = false)
+    private String merchantUid;
+
+    @Column(name = "imp_uid")
+    private String impUid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PaymentEventSource source;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload; // CLIENT: PaymentRequestDto JSON, WEBHOOK: 웹훅 본문
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PaymentEventStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt; // 이 시각 이후 처리 (재시도 지연)
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    public PaymentEvent(String merchantUid, String impUid, PaymentEventSource source, String payload) {
+        this.merchantUid = merchantUid;
+        this.impUid = impUid;
+        this.source = source;
+        this.payload = payload;
+        this.status = PaymentEventStatus.RECEIVED;
+        this.receivedAt = LocalDateTime.now();
+        this.availableAt = this.receivedAt;
+    }
+}
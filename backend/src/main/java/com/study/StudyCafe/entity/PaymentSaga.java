@@ -0,0 +1,75 @@
+package com.study.StudyCafe.entity;
+
+import com.study.StudyCafe.constant.PaymentSagaState;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 결제 확정 사가 진행 기록 (주문 merchantUid 당 하나).
+ * 게이트웨이 검증/예약 커밋/환불 각 단계가 끝날 때마다 짧은 트랜잭션으로 상태를 남겨,
+ * 중간에 죽어도 스케줄러가 이어서 확인/환불할 수 있게 한다.
+ */
+@Entity
+@Table(
+        name = "payment_saga",
+        indexes = @Index(name = "idx_payment_saga_state", columnList = "state, updated_at")
+)
+@Getter @Setter @ToString
+@NoArgsConstructor
+public class PaymentSaga {
+
+    @Id
+    @Column(name = "merchant_uid")
+    private String merchantUid;
+
+    @Column(name = "imp_uid")
+    private String impUid;
+
+    @Column(name = "user_email")
+    private String userEmail;
+
+    private Integer amount; // 게이트웨이가 확인해 준 결제 금액
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PaymentSagaState state;
+
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+
+    @Column(name = "request_payload", columnDefinition = "TEXT")
+    private String requestPayload; // 예약 요청(PaymentRequestDto) JSON. 웹훅만으로 시작된 사가는 null
+
+    @Column(name = "refund_attempts", nullable = false)
+    private int refundAttempts;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public PaymentSaga(String merchantUid, String impUid, String userEmail, String requestPayload) {
+        this.merchantUid = merchantUid;
+        this.impUid = impUid;
+        this.userEmail = userEmail;
+        this.requestPayload = requestPayload;
+        this.state = PaymentSagaState.STARTED;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
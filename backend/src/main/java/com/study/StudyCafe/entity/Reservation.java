@@ -8,14 +8,30 @@ import lombok.ToString;
 
 import java.time.LocalDateTime;
 
+/**
+ * 진행 중/예정 예약과 최근 끝난 예약만 두는 hot 테이블.
+ * 끝난 예약은 {@link com.study.StudyCafe.service.ReservationArchiveService} 가 reservations_archive 로 옮긴다.
+ * 스키마/인덱스는 db/migration 이 원본이고 여기 선언은 맞춰 둔 사본.
+ */
 @Entity
-@Table(name = "reservations")
+@Table(
+        name = "reservations",
+        indexes = {
+                @Index(name = "idx_reservations_seat_overlap", columnList = "seat_id, end_time, start_time, status"),
+                @Index(name = "idx_reservations_reminder", columnList = "is_notified, status, start_time"),
+                @Index(name = "idx_reservations_active", columnList = "status, end_time, seat_id, start_time"),
+                @Index(name = "idx_reservations_end_time", columnList = "end_time"),
+                @Index(name = "idx_reservations_qr_token", columnList = "qr_token")
+        }
+)
 @Getter
 @Setter
 @ToString
 public class Reservation {
+    // ✅ 시퀀스(MySQL 은 reservations_seq 테이블로 에뮬레이션) 50개 단위 선할당 → 다좌석 예약 INSERT 를 JDBC 배치로
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     private Long id;
 
     private LocalDateTime startTime;
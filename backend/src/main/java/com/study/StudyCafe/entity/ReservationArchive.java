@@ -0,0 +1,65 @@
+package com.study.StudyCafe.entity;
+
+import com.study.StudyCafe.constant.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 끝난 예약 보관 테이블 (reservations 와 같은 컬럼 + archived_at).
+ * 이력 조회 전용이라 좌석/사용자/결제는 FK 없이 id 만 둔다. id 는 원래 예약 id 그대로.
+ */
+@Entity
+@Table(
+        name = "reservations_archive",
+        indexes = {
+                @Index(name = "idx_reservations_archive_user", columnList = "user_id, start_time"),
+                @Index(name = "idx_reservations_archive_seat", columnList = "seat_id, start_time")
+        }
+)
+@Getter @Setter @ToString
+public class ReservationArchive {
+
+    @Id
+    private Long id;
+
+    @Column(name = "start_time")
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    @Column(name = "total_minutes")
+    private int totalMinutes;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    @Column(name = "seat_id")
+    private Long seatId;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    // reservations.payment_id 와 같은 타입 (payments PK 가 merchant_uid 문자열)
+    @Column(name = "payment_id", length = 255)
+    private String paymentId;
+
+    @Column(name = "is_notified", nullable = false)
+    private boolean isNotified;
+
+    @Column(name = "qr_token")
+    private String qrToken;
+
+    @Column(name = "is_used")
+    private boolean isUsed;
+
+    @Column(name = "qr_start_time")
+    private LocalDateTime qrStartTime;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,76 @@
+package com.study.StudyCafe.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 예약이 점유한 고정 단위(30분) 시간 슬롯. (seat_id, slot_start) 유니크 키라
+ * 겹치는 예약은 락/범위 조회 없이 INSERT 단계에서 DB 가 거절한다. 취소 시 함께 삭제.
+ */
+@Entity
+@Table(
+        name = "reservation_slot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reservation_slot_seat_start", columnNames = {"seat_id", "slot_start"}),
+        indexes = @Index(name = "idx_reservation_slot_reservation", columnList = "reservation_id")
+)
+@Getter @Setter @ToString
+@NoArgsConstructor
+public class ReservationSlot {
+
+    public static final int SLOT_MINUTES = 30;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_slot_seq")
+    @SequenceGenerator(name = "reservation_slot_seq", sequenceName = "reservation_slot_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "seat_id", nullable = false)
+    @ToString.Exclude
+    private Seat seat;
+
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "reservation_id", nullable = false)
+    @ToString.Exclude
+    private Reservation reservation;
+
+    public ReservationSlot(Reservation reservation, LocalDateTime slotStart) {
+        this.reservation = reservation;
+        this.seat = reservation.getSeat();
+        this.slotStart = slotStart;
+    }
+
+    /** 슬롯 경계(30분 단위, 초 이하 0)에 맞는 시각인지. 예약/홀드는 경계에 맞는 시각만 받는다 */
+    public static boolean isAligned(LocalDateTime t) {
+        return t.getMinute() % SLOT_MINUTES == 0 && t.getSecond() == 0 && t.getNano() == 0;
+    }
+
+    /**
+     * [start, end) 를 덮는 슬롯 시작 시각들. 경계에 맞는 구간이면 정확히 그 구간의 슬롯이고,
+     * 경계에 맞지 않는 구간(검사 도입 전 예약)은 바깥쪽으로 넓혀 덮는다.
+     */
+    public static List<LocalDateTime> slotStarts(LocalDateTime start, LocalDateTime end) {
+        LocalDateTime slot = floor(start);
+        List<LocalDateTime> result = new ArrayList<>();
+        while (slot.isBefore(end)) {
+            result.add(slot);
+            slot = slot.plusMinutes(SLOT_MINUTES);
+        }
+        return result;
+    }
+
+    private static LocalDateTime floor(LocalDateTime t) {
+        int minute = t.getMinute() - t.getMinute() % SLOT_MINUTES;
+        return t.withMinute(minute).withSecond(0).withNano(0);
+    }
+}
@@ -11,8 +11,7 @@ import java.time.*;
         name = "seat",
         indexes = {
                 @Index(name = "idx_seat_zone", columnList = "zone_id"),
-                @Index(name = "idx_seat_status", columnList = "status"),
-                @Index(name = "idx_seat_hold_expires", columnList = "hold_expires_at")
+                @Index(name = "idx_seat_status", columnList = "status")
         }
 )
 @Getter @Setter @ToString
@@ -45,19 +44,7 @@ public class Seat {
     @Version
     private Long version;
 
-    // ✅ 홀드 메타(재진입/중복 방지)
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "hold_user_id")
-    private User holdUser;
-
-    @Column(name = "hold_expires_at")
-    private LocalDateTime holdExpiresAt;
-
-    @Column(name = "hold_start_time")
-    private LocalDateTime holdStartTime;
-
-    @Column(name = "hold_end_time")
-    private LocalDateTime holdEndTime;
+    // ✅ 홀드는 좌석+시간대 단위로 seat_hold 테이블에 보관 (SeatHold)
 
     // ✅ 필터/추천용 속성들 ------------------------------
 
@@ -84,44 +71,9 @@ public class Seat {
 
     // ✅ 유틸 메서드 ------------------------------------
 
-    /** 현재 시점 기준 활성 홀드 여부 */
-    public boolean isHoldActive() {
-        return STATUS_HOLD.equalsIgnoreCase(status)
-                && holdExpiresAt != null
-                && holdExpiresAt.isAfter(LocalDateTime.now());
-    }
-
-    /** 요청 시간대(reqStart~reqEnd)와 겹치는 활성 홀드 여부 */
-    public boolean isHoldActiveFor(LocalDateTime reqStart, LocalDateTime reqEnd) {
-        return isHoldActive()
-                && holdStartTime != null && holdEndTime != null
-                && holdStartTime.isBefore(reqEnd)
-                && holdEndTime.isAfter(reqStart);
-    }
-
     /** 시간 구간 겹침 체크(예약/홀드 공통 로직에 활용) */
     public static boolean overlaps(LocalDateTime aStart, LocalDateTime aEnd,
                                    LocalDateTime bStart, LocalDateTime bEnd) {
         return aStart.isBefore(bEnd) && aEnd.isAfter(bStart);
     }
-
-    /** 홀드 설정 편의 메서드 */
-    public void markHold(User user, LocalDateTime reqStart, LocalDateTime reqEnd, Duration ttl) {
-        this.status = STATUS_HOLD;
-        this.holdUser = user;
-        this.holdStartTime = reqStart;
-        this.holdEndTime = reqEnd;
-        this.holdExpiresAt = LocalDateTime.now().plus(ttl);
-    }
-
-    /** 홀드 해제 */
-    public void clearHold() {
-        this.holdUser = null;
-        this.holdExpiresAt = null;
-        this.holdStartTime = null;
-        this.holdEndTime = null;
-        if ("hold".equals(this.status)) {
-            this.status = STATUS_AVAILABLE;
-        }
-    }
 }
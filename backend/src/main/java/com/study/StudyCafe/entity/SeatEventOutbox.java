@@ -0,0 +1,55 @@
+package com.study.StudyCafe.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 좌석 이벤트 아웃박스. 좌석 변경과 같은 트랜잭션에서 기록되고, 릴레이가 존 단위로 claimed_by/claimed_at 을 표시해 가져가
+ * id 순서대로 Redis 로 내보낸 뒤 published_at 을 채운다 (최소 1회 전달: 발행 후 표시 전에 죽으면 다시 보낸다).
+ * 발행된 행은 보존 기간이 지나면 삭제.
+ */
+@Entity
+@Table(
+        name = "seat_event_outbox",
+        indexes = {
+                @Index(name = "idx_seat_event_outbox_pending", columnList = "published_at, id"),
+                @Index(name = "idx_seat_event_outbox_zone_pending", columnList = "published_at, zone_id, id")
+        }
+)
+@Getter @Setter @ToString
+@NoArgsConstructor
+public class SeatEventOutbox {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "zone_id")
+    private Long zoneId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload; // SeatEvent JSON
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // 릴레이가 가져간 묶음 표시 (claimed_at 이 오래되면 그 릴레이가 죽은 것으로 보고 다시 가져감)
+    @Column(name = "claimed_by", length = 36)
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    public SeatEventOutbox(Long zoneId, String payload) {
+        this.zoneId = zoneId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,51 @@
+package com.study.StudyCafe.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 좌석 홀드 (좌석 + 시간대 단위). 한 좌석에 서로 겹치지 않는 시간대 홀드가 여러 개 있을 수 있다.
+ * (seat_id, start_time, end_time) 인덱스로 좌석별 겹침 검사/잠금 범위를 좁힌다.
+ */
+@Entity
+@Table(
+        name = "seat_hold",
+        indexes = {
+                @Index(name = "idx_seat_hold_window", columnList = "seat_id, start_time, end_time"),
+                @Index(name = "idx_seat_hold_expires", columnList = "expires_at")
+        }
+)
+@Getter @Setter @ToString
+public class SeatHold {
+
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "seat_id", nullable = false)
+    @ToString.Exclude
+    private Seat seat;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    private User user;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** 현재 시점 기준 유효한 홀드인지 */
+    public boolean isActive(LocalDateTime now) {
+        return expiresAt != null && expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,51 @@
+package com.study.StudyCafe.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 홀드가 점유한 30분 슬롯. (seat_id, slot_start) 유니크 키라 같은 좌석의 겹치는 홀드는
+ * 좌석 행을 잠그지 않고도 INSERT 단계에서 DB 가 거절한다. 홀드 행 삭제 시 DB 가 함께 삭제(ON DELETE CASCADE).
+ */
+@Entity
+@Table(
+        name = "seat_hold_slot",
+        uniqueConstraints = @UniqueConstraint(name = "uk_seat_hold_slot_seat_start", columnNames = {"seat_id", "slot_start"}),
+        indexes = @Index(name = "idx_seat_hold_slot_hold", columnList = "hold_id")
+)
+@Getter @Setter @ToString
+@NoArgsConstructor
+public class SeatHoldSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_hold_slot_seq")
+    @SequenceGenerator(name = "seat_hold_slot_seq", sequenceName = "seat_hold_slot_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "seat_id", nullable = false)
+    @ToString.Exclude
+    private Seat seat;
+
+    @Column(name = "slot_start", nullable = false)
+    private LocalDateTime slotStart;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "hold_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private SeatHold hold;
+
+    public SeatHoldSlot(SeatHold hold, LocalDateTime slotStart) {
+        this.hold = hold;
+        this.seat = hold.getSeat();
+        this.slotStart = slotStart;
+    }
+}
@@ -0,0 +1,56 @@
+package com.study.StudyCafe.repository;
+
+import com.study.StudyCafe.constant.PaymentEventSource;
+import com.study.StudyCafe.constant.PaymentEventStatus;
+import com.study.StudyCafe.entity.PaymentEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, Long> {
+
+    @Query("""
+        select e.id from PaymentEvent e
+        where e.status = com.study.StudyCafe.constant.PaymentEventStatus.RECEIVED
+          and e.availableAt <= :now
+        order by e.id
+    """)
+    List<Long> findReadyIds(@Param("now") LocalDateTime now, Pageable page);
+
+    // ✅ RECEIVED → PROCESSING 조건부 전환 (1 이면 이 인스턴스가 가져감). available_at 은 가져간 시각으로
+    @Transactional
+    @Modifying
+    @Query("""
+        update PaymentEvent e set e.status = com.study.StudyCafe.constant.PaymentEventStatus.PROCESSING, e.availableAt = :now
+        where e.id = :id and e.status = com.study.StudyCafe.constant.PaymentEventStatus.RECEIVED
+    """)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // ✅ 처리 도중 서버가 죽어 PROCESSING 으로 남은 항목 되돌리기
+    @Transactional
+    @Modifying
+    @Query("""
+        update PaymentEvent e set e.status = com.study.StudyCafe.constant.PaymentEventStatus.RECEIVED
+        where e.status = com.study.StudyCafe.constant.PaymentEventStatus.PROCESSING
+          and e.availableAt < :before
+    """)
+    int releaseStuck(@Param("before") LocalDateTime before);
+
+    // ✅ 웹훅 접수 시 같은 알림이 이미 대기 중인지 / 대기 중인 웹훅 수 (접수 상한)
+    boolean existsByMerchantUidAndImpUidAndSourceAndStatusIn(
+            String merchantUid, String impUid, PaymentEventSource source, Collection<PaymentEventStatus> statuses);
+
+    long countBySourceAndStatus(PaymentEventSource source, PaymentEventStatus status);
+
+    Optional<PaymentEvent> findFirstByMerchantUidAndSourceOrderByIdDesc(String merchantUid, PaymentEventSource source);
+
+    Optional<PaymentEvent> findFirstByMerchantUidOrderByIdDesc(String merchantUid);
+}
@@ -0,0 +1,30 @@
+package com.study.StudyCafe.repository;
+
+import com.study.StudyCafe.constant.PaymentSagaState;
+import com.study.StudyCafe.entity.PaymentSaga;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PaymentSagaRepository extends JpaRepository<PaymentSaga, String> {
+
+    // ✅ 상태 전환은 행을 잠그고 현재 상태를 확인한 뒤 (워커/스케줄러/웹훅이 같은 사가를 동시에 진행하지 않게)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from PaymentSaga s where s.merchantUid = :merchantUid")
+    Optional<PaymentSaga> findByIdForUpdate(@Param("merchantUid") String merchantUid);
+
+    // ✅ 환불 재시도 대상 (상태 + 마지막 변경 시각)
+    List<PaymentSaga> findAllByStateInAndUpdatedAtBeforeAndRefundAttemptsLessThan(
+            Collection<PaymentSagaState> states, LocalDateTime before, int maxAttempts);
+
+    // ✅ 결제 확인 재시도 대상 (상태 + 마지막 변경 시각 + 시작 시각 하한)
+    List<PaymentSaga> findAllByStateInAndUpdatedAtBeforeAndCreatedAtAfter(
+            Collection<PaymentSagaState> states, LocalDateTime before, LocalDateTime since);
+}
@@ -0,0 +1,26 @@
+package com.study.StudyCafe.repository;
+
+import com.study.StudyCafe.entity.ReservationArchive;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface ReservationArchiveRepository extends JpaRepository<ReservationArchive, Long> {
+
+    // ✅ hot 테이블 행을 그대로 복사 (엔티티 로딩 없이 INSERT ... SELECT 한 문장)
+    @Modifying
+    @Query(value = """
+    INSERT INTO reservations_archive
+        (id, start_time, end_time, total_minutes, status, seat_id, user_id, payment_id,
+         is_notified, qr_token, is_used, qr_start_time, archived_at)
+    SELECT id, start_time, end_time, total_minutes, status, seat_id, user_id, payment_id,
+           is_notified, qr_token, is_used, qr_start_time, :archivedAt
+    FROM reservations
+    WHERE id IN (:ids)
+""", nativeQuery = true)
+    int copyFromReservations(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -1,19 +1,30 @@
 package com.study.StudyCafe.repository;
 
 import com.study.StudyCafe.constant.ReservationStatus;
+import com.study.StudyCafe.dto.seat.ReservationInterval;
 import com.study.StudyCafe.entity.Payment;
 import com.study.StudyCafe.entity.Reservation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    @Query("SELECT r FROM Reservation r WHERE r.seat.zone.id = :zoneId AND DATE(r.startTime) = CURRENT_DATE")
-    List<Reservation> findByZoneIdAndToday(Long zoneId);
+    // ✅ DATE(start_time) = 오늘 은 인덱스를 못 타서 [오늘 0시, 내일 0시) 범위로 조회
+    @Query("SELECT r FROM Reservation r WHERE r.seat.zone.id = :zoneId AND r.startTime >= :from AND r.startTime < :to")
+    List<Reservation> findByZoneIdAndStartTimeRange(Long zoneId, LocalDateTime from, LocalDateTime to);
+
+    default List<Reservation> findByZoneIdAndToday(Long zoneId) {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        return findByZoneIdAndStartTimeRange(zoneId, today, today.plusDays(1));
+    }
 
     @Query("""
     SELECT COUNT(r) > 0
@@ -25,6 +36,16 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 """)
     boolean existsBySeatIdAndTimeOverlap(Long seatId, LocalDateTime startTime, LocalDateTime endTime);
 
+    @Query("""
+    SELECT DISTINCT r.seat.id
+    FROM Reservation r
+    WHERE r.seat.id IN :seatIds
+      AND r.startTime < :endTime
+      AND r.endTime > :startTime
+      AND r.status = com.study.StudyCafe.constant.ReservationStatus.RESERVED
+""")
+    List<Long> findOverlappingSeatIds(List<Long> seatIds, LocalDateTime startTime, LocalDateTime endTime);
+
     @Query("""
     SELECT r FROM Reservation r
     WHERE r.seat.zone.id = :zoneId
@@ -38,9 +59,35 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
 
     List<Reservation> findAllByPayment(Payment payment);
 
-    List<Reservation> findByStartTimeAfterAndIsNotifiedFalseAndStatus(LocalDateTime now, ReservationStatus status);
+    // ✅ 알림 대상 구간 [from, to] 만 조회 (먼 미래 예약까지 매분 읽지 않도록)
+    List<Reservation> findByStartTimeBetweenAndIsNotifiedFalseAndStatus(LocalDateTime from, LocalDateTime to, ReservationStatus status);
 
     Optional<Reservation> findByQrToken(String qrToken);
 
+    // ✅ 보관 대상: cutoff 이전에 끝난 예약 id (오래된 순, limit 개)
+    @Query("SELECT r.id FROM Reservation r WHERE r.endTime < :cutoff ORDER BY r.endTime")
+    List<Long> findFinishedIds(LocalDateTime cutoff, Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM Reservation r WHERE r.id IN :ids")
+    int deleteByIdIn(Collection<Long> ids);
+
+    // ✅ 가용성 인덱스 워밍/검증용 (아직 끝나지 않은 예약 구간만)
+    @Query("""
+    SELECT new com.study.StudyCafe.dto.seat.ReservationInterval(r.seat.id, r.seat.zone.id, r.startTime, r.endTime)
+    FROM Reservation r
+    WHERE r.endTime > :from
+      AND r.status = com.study.StudyCafe.constant.ReservationStatus.RESERVED
+""")
+    List<ReservationInterval> findActiveIntervals(LocalDateTime from);
+
+    @Query("""
+    SELECT new com.study.StudyCafe.dto.seat.ReservationInterval(r.seat.id, r.seat.zone.id, r.startTime, r.endTime)
+    FROM Reservation r
+    WHERE r.seat.zone.id = :zoneId
+      AND r.endTime > :from
+      AND r.status = com.study.StudyCafe.constant.ReservationStatus.RESERVED
+""")
+    List<ReservationInterval> findActiveIntervalsByZoneId(Long zoneId, LocalDateTime from);
 
 }
@@ -0,0 +1,16 @@
+package com.study.StudyCafe.repository;
+
+import com.study.StudyCafe.entity.ReservationSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+
+public interface ReservationSlotRepository extends JpaRepository<ReservationSlot, Long> {
+
+    // ✅ 취소된 예약의 슬롯 반환 (한 번의 DELETE)
+    @Modifying
+    @Query("DELETE FROM ReservationSlot s WHERE s.reservation.id IN :reservationIds")
+    int deleteByReservationIdIn(Collection<Long> reservationIds);
+}
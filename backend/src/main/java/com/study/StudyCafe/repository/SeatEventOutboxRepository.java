@@ -0,0 +1,56 @@
+package com.study.StudyCafe.repository;
+
+import com.study.StudyCafe.entity.SeatEventOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface SeatEventOutboxRepository extends JpaRepository<SeatEventOutbox, Long> {
+
+    // ✅ 가져갈 존: 존마다 가장 오래된 미발행 행(머리)을 잠그고, 머리를 아무도 안 가져갔거나 가져간 지 오래된 존만.
+    //    다른 릴레이가 잠근 머리는 건너뛴다 → 한 존은 한 번에 한 릴레이만 가져간다 (zone_id 가 없으면 0 으로 묶음)
+    @Query(value = """
+            SELECT COALESCE(o.zone_id, 0) FROM seat_event_outbox o
+            JOIN (SELECT MIN(id) AS id FROM seat_event_outbox
+                  WHERE published_at IS NULL GROUP BY COALESCE(zone_id, 0)) head ON head.id = o.id
+            WHERE o.published_at IS NULL AND (o.claimed_at IS NULL OR o.claimed_at < :staleBefore)
+            ORDER BY o.id LIMIT :limit
+            FOR UPDATE OF o SKIP LOCKED""", nativeQuery = true)
+    List<Long> findClaimableZonesForUpdate(@Param("staleBefore") LocalDateTime staleBefore, @Param("limit") int limit);
+
+    // 고른 존의 미발행 행을 id 순으로 limit 개까지 표시 (존마다 앞에서부터 이어진 구간이 된다)
+    @Modifying
+    @Query(value = """
+            UPDATE seat_event_outbox SET claimed_by = :token, claimed_at = :claimedAt
+            WHERE published_at IS NULL AND COALESCE(zone_id, 0) IN (:zones)
+            ORDER BY id LIMIT :limit""", nativeQuery = true)
+    int claimZones(@Param("zones") Collection<Long> zones, @Param("token") String token,
+                   @Param("claimedAt") LocalDateTime claimedAt, @Param("limit") int limit);
+
+    List<SeatEventOutbox> findAllByPublishedAtIsNullAndClaimedByOrderByIdAsc(String claimedBy);
+
+    // ✅ 가장 오래된 미발행 행 (seat.outbox.pending.age 게이지)
+    Optional<SeatEventOutbox> findFirstByPublishedAtIsNullOrderByIdAsc();
+
+    // 가져간 뒤 다른 릴레이에게 넘어간 행(오래된 claim)은 표시하지 않는다
+    @Modifying
+    @Query("UPDATE SeatEventOutbox o SET o.publishedAt = :publishedAt WHERE o.id IN :ids AND o.claimedBy = :token")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("token") String token,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    // 발행 실패 시 바로 다시 가져갈 수 있게 표시 해제
+    @Modifying
+    @Query("UPDATE SeatEventOutbox o SET o.claimedBy = NULL, o.claimedAt = NULL WHERE o.id IN :ids AND o.claimedBy = :token")
+    int releaseClaim(@Param("ids") Collection<Long> ids, @Param("token") String token);
+
+    // ✅ 보존 기간이 지난 발행 완료 행을 limit 개씩 삭제 (긴 잠금/큰 undo 방지)
+    @Modifying
+    @Query(value = "DELETE FROM seat_event_outbox WHERE published_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,120 @@
+package com.study.StudyCafe.repository;
+
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.entity.SeatHold;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import jakarta.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SeatHoldRepository extends JpaRepository<SeatHold, Long> {
+
+    // ✅ 비관 모드: 겹치는 홀드 id 만 잠금 없이 읽고 → 그 행들만 PK 로 잠근다 (범위/갭 락 없음 → DbSeatHoldStore)
+    @Query("""
+       select h.id from SeatHold h
+       where h.seat.id = :seatId
+         and h.startTime < :endTime
+         and h.endTime > :startTime
+       """)
+    List<Long> findOverlappingIds(@Param("seatId") Long seatId,
+                                  @Param("startTime") LocalDateTime startTime,
+                                  @Param("endTime") LocalDateTime endTime);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select h from SeatHold h where h.id in :ids order by h.startTime")
+    List<SeatHold> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 낙관 모드용 (잠금 없음, 충돌은 seat.version 으로 감지)
+    @Query("""
+       select h from SeatHold h
+       where h.seat.id = :seatId
+         and h.startTime < :endTime
+         and h.endTime > :startTime
+       order by h.startTime
+       """)
+    List<SeatHold> findOverlapping(@Param("seatId") Long seatId,
+                                   @Param("startTime") LocalDateTime startTime,
+                                   @Param("endTime") LocalDateTime endTime);
+
+    @Query("""
+       select distinct h.seat.id from SeatHold h
+       where h.seat.id in :seatIds
+         and h.user.id <> :userId
+         and h.expiresAt > :now
+         and h.startTime < :endTime
+         and h.endTime > :startTime
+       """)
+    List<Long> findSeatIdsHeldByOtherUser(@Param("seatIds") Collection<Long> seatIds,
+                                          @Param("userId") Long userId,
+                                          @Param("startTime") LocalDateTime startTime,
+                                          @Param("endTime") LocalDateTime endTime,
+                                          @Param("now") LocalDateTime now);
+
+    @Query("select h from SeatHold h where h.seat.id = :seatId order by h.startTime")
+    List<SeatHold> findAllBySeatId(@Param("seatId") Long seatId);
+
+    @Query("""
+       select h from SeatHold h
+       where h.seat.id in :seatIds
+         and h.user.id = :userId
+         and h.startTime < :endTime
+         and h.endTime > :startTime
+       """)
+    List<SeatHold> findOwnOverlapping(@Param("seatIds") Collection<Long> seatIds,
+                                      @Param("userId") Long userId,
+                                      @Param("startTime") LocalDateTime startTime,
+                                      @Param("endTime") LocalDateTime endTime);
+
+    // ✅ 만료 처리: 만료된 행을 잠근 뒤 지운다 (잠그기 전에 연장 커밋된 행은 조건에서 빠짐)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+       select h from SeatHold h
+       join fetch h.seat s
+       where h.expiresAt <= :now
+       """)
+    List<SeatHold> findExpiredForUpdate(@Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+       select h from SeatHold h
+       join fetch h.seat s
+       where h.id in :ids and h.expiresAt <= :now
+       """)
+    List<SeatHold> findExpiredByIdInForUpdate(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    // 만료 조건을 DELETE 에도 다시 걸어 둔다 (연장된 홀드는 지우지 않음)
+    @Modifying
+    @Query("delete from SeatHold h where h.id in :ids and h.expiresAt <= :now")
+    int deleteExpiredByIdIn(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // ✅ 가용성 인덱스 워밍/검증, 만료 타이머 재구성용 (엔티티 그래프 없이 필요한 컬럼만)
+    @Query("""
+       select new com.study.StudyCafe.dto.seat.SeatHoldSnapshot(
+           h.seat.id, h.seat.zone.id, h.user.id, h.startTime, h.endTime, h.expiresAt, h.id)
+       from SeatHold h
+       """)
+    List<SeatHoldSnapshot> findAllSnapshots();
+
+    @Query("""
+       select new com.study.StudyCafe.dto.seat.SeatHoldSnapshot(
+           h.seat.id, h.seat.zone.id, h.user.id, h.startTime, h.endTime, h.expiresAt, h.id)
+       from SeatHold h
+       where h.expiresAt > :now
+       """)
+    List<SeatHoldSnapshot> findActiveSnapshots(@Param("now") LocalDateTime now);
+
+    @Query("""
+       select new com.study.StudyCafe.dto.seat.SeatHoldSnapshot(
+           h.seat.id, h.seat.zone.id, h.user.id, h.startTime, h.endTime, h.expiresAt, h.id)
+       from SeatHold h
+       where h.seat.zone.id = :zoneId and h.expiresAt > :now
+       """)
+    List<SeatHoldSnapshot> findActiveSnapshotsByZoneId(@Param("zoneId") Long zoneId, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,8 @@
+package com.study.StudyCafe.repository;
+
+import com.study.StudyCafe.entity.SeatHoldSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+// 삭제는 seat_hold 행 삭제 시 DB 의 ON DELETE CASCADE 로 (별도 메서드 없음)
+public interface SeatHoldSlotRepository extends JpaRepository<SeatHoldSlot, Long> {
+}
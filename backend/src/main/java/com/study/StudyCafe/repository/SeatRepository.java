@@ -1,6 +1,8 @@
 // src/main/java/com/study/StudyCafe/repository/SeatRepository.java
 package com.study.StudyCafe.repository;
 
+import com.study.StudyCafe.dto.seat.SeatLayoutRow;
+import com.study.StudyCafe.dto.seat.SeatStatusRow;
 import com.study.StudyCafe.entity.Seat;
 import com.study.StudyCafe.entity.StudyZone;
 import org.springframework.data.jpa.repository.*;
@@ -18,16 +20,92 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("select s from Seat s where s.id = :id")
     Optional<Seat> findByIdForUpdate(@Param("id") Long id);
 
-    @Query("""
-       select s from Seat s
-       join fetch s.zone z
-       where s.status = 'hold' and s.holdExpiresAt < :now
-       """)
-    List<Seat> findExpiredHolds(@Param("now") LocalDateTime now);
+    // ✅ 낙관 모드: 잠금 없이 읽고 커밋 시 version 조건부 증가 (update ... where id=? and version=?)
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select s from Seat s where s.id = :id")
+    Optional<Seat> findByIdForVersionBump(@Param("id") Long id);
+
+    // ✅ 여러 좌석을 한 번에 확보 (id 오름차순 → 동시 다좌석 예약끼리 교착 없음)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from Seat s where s.id in :ids order by s.id")
+    List<Seat> findAllByIdInForUpdate(@Param("ids") List<Long> ids);
+
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select s from Seat s where s.id in :ids order by s.id")
+    List<Seat> findAllByIdInForVersionBump(@Param("ids") List<Long> ids);
+
+    // ✅ 좌석 상태 일괄 변경 (version 은 확보 시 잠금/강제 증가로 처리하므로 건드리지 않음)
+    @Modifying
+    @Query("update Seat s set s.status = :status where s.id in :ids")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids, @Param("status") String status);
+
+    @Query("select s.zone.id from Seat s where s.id = :id")
+    Optional<Long> findZoneIdById(@Param("id") Long id);
+
+    @Query("select s.zone.id from Seat s where s.id in :ids")
+    List<Long> findZoneIdsByIdIn(@Param("ids") List<Long> ids);
+
     Optional<Seat> findByZoneAndSeatName(StudyZone zone, String seatName);
     @Query("SELECT s.id FROM Seat s WHERE s.seatName IN :seatNames")
     List<Long> findIdsBySeatNames(@Param("seatNames") List<String> seatNames);
 
     @Query("SELECT s FROM Seat s WHERE s.id IN :ids")
     List<Seat> findAllByIdIn(@Param("ids") List<Long> ids);
+
+    // ✅ 가용성 인덱스 워밍/검증용 (좌석-존 매핑, 엔티티 그래프 없이 필요한 컬럼만)
+    @Query("""
+       select new com.study.StudyCafe.dto.seat.SeatLayoutRow(
+           s.id, s.seatName, s.posX, s.posY, s.price, s.zone.id,
+           s.windowSide, s.hasOutlet, s.quiet)
+       from Seat s
+       order by s.id
+       """)
+    List<SeatLayoutRow> findAllLayoutRows();
+
+    // ✅ 좌석 목록 읽기 모델 (배치만) — 겹침/홀드는 가용성 인덱스가 판정할 때 사용
+    @Query("""
+       select new com.study.StudyCafe.dto.seat.SeatLayoutRow(
+           s.id, s.seatName, s.posX, s.posY, s.price, s.zone.id,
+           s.windowSide, s.hasOutlet, s.quiet)
+       from Seat s
+       where s.zone.id = :zoneId
+       order by s.id
+       """)
+    List<SeatLayoutRow> findLayoutRowsByZoneId(@Param("zoneId") Long zoneId);
+
+    // ✅ 좌석 목록 읽기 모델 (배치 + 겹침/홀드 플래그) — 한 번의 SQL 로 처리
+    @Query("""
+       select new com.study.StudyCafe.dto.seat.SeatStatusRow(
+           s.id, s.seatName, s.posX, s.posY, s.price, s.zone.id,
+           s.windowSide, s.hasOutlet, s.quiet,
+           (select max(h.expiresAt) from SeatHold h
+             where h.seat = s and h.expiresAt > :now
+               and h.startTime < :endTime and h.endTime > :startTime),
+           case when exists (
+               select 1 from Reservation r
+               where r.seat = s
+                 and r.startTime < :endTime
+                 and r.endTime > :startTime
+                 and r.status = com.study.StudyCafe.constant.ReservationStatus.RESERVED
+           ) then true else false end,
+           case when exists (
+               select 1 from SeatHold h
+               where h.seat = s and h.expiresAt > :now
+                 and h.startTime < :endTime and h.endTime > :startTime
+           ) then true else false end,
+           case when exists (
+               select 1 from SeatHold h
+               where h.seat = s and h.expiresAt > :now
+                 and h.startTime < :endTime and h.endTime > :startTime
+                 and h.user.id = :userId
+           ) then true else false end)
+       from Seat s
+       where s.zone.id = :zoneId
+       order by s.id
+       """)
+    List<SeatStatusRow> findStatusRowsByZoneId(@Param("zoneId") Long zoneId,
+                                               @Param("startTime") LocalDateTime startTime,
+                                               @Param("endTime") LocalDateTime endTime,
+                                               @Param("userId") Long userId,
+                                               @Param("now") LocalDateTime now);
 }
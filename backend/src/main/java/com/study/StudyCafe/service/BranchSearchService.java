@@ -0,0 +1,106 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.NLP.BranchSearchResult;
+import com.study.StudyCafe.dto.NLP.ParsedRequest;
+import com.study.StudyCafe.dto.seat.SeatDto;
+import com.study.StudyCafe.dto.seat.StudyZoneDto;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 지점 미지정 검색: 모든 StudyZone 을 병렬로 조회해 조건(인원/태그)에 맞는 지점을 순위대로 반환.
+ * 가상 스레드 + 세마포어로 동시 조회 수를 제한하고(커넥션 풀 보호),
+ * 전체 마감 시간을 넘긴 지점은 결과에서 제외해 지점 수가 늘어도 응답 시간이 일정하게 유지된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BranchSearchService {
+
+    private final ReferenceDataCache referenceDataCache;
+    private final SeatListingService seatListingService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${seat.search.parallelism:4}")
+    private int parallelism;
+
+    @Value("${seat.search.timeout-ms:2000}")
+    private long timeoutMs;
+
+    @Value("${seat.search.seats-per-branch:10}")
+    private int seatsPerBranch;
+
+    /**
+     * @param maxBranches 반환할 지점 수 상한
+     */
+    public List<BranchSearchResult> search(ParsedRequest pr, int maxBranches) {
+        LocalDateTime start = pr.getStartDateTime();
+        LocalDateTime end = pr.getEndDateTime();
+        int partySize = pr.getPartySize() != null ? pr.getPartySize() : 1;
+
+        Set<String> tags = pr.getSeatTags();
+        Boolean wantWindow = tags.contains("WINDOW") ? Boolean.TRUE : null;
+        Boolean wantOutlet = tags.contains("OUTLET") ? Boolean.TRUE : null;
+        Boolean wantQuiet = tags.contains("QUIET") ? Boolean.TRUE : null;
+
+        Semaphore permits = new Semaphore(Math.max(parallelism, 1));
+        List<StudyZoneDto> zones = referenceDataCache.zones();
+        List<Future<BranchSearchResult>> futures = new ArrayList<>(zones.size());
+
+        for (StudyZoneDto zone : zones) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    List<SeatDto> available = seatListingService
+                            .list(zone.getId(), start, end, null, wantWindow, wantOutlet, wantQuiet)
+                            .getSeats().stream()
+                            .filter(s -> "available".equals(s.getStatus()))
+                            .toList();
+                    if (available.size() < partySize) return null;
+                    return new BranchSearchResult(zone.getId(), zone.getZoneName(), available.size(),
+                            available.subList(0, Math.min(available.size(), seatsPerBranch)));
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        // ✅ 공통 마감 시간: 늦은 지점은 버리고 나머지로 응답
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        List<BranchSearchResult> results = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            Future<BranchSearchResult> f = futures.get(i);
+            try {
+                long remaining = Math.max(deadline - System.nanoTime(), 0);
+                BranchSearchResult r = f.get(remaining, TimeUnit.NANOSECONDS);
+                if (r != null) results.add(r);
+            } catch (TimeoutException e) {
+                f.cancel(true);
+                log.warn("지점 검색 시간 초과: zoneId={}", zones.get(i).getId());
+            } catch (ExecutionException e) {
+                log.warn("지점 검색 실패: zoneId={}", zones.get(i).getId(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        // ✅ 빈 좌석 많은 순, 같으면 이름순
+        results.sort(Comparator.comparingInt(BranchSearchResult::getAvailableCount).reversed()
+                .thenComparing(BranchSearchResult::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return results.size() > maxBranches ? results.subList(0, maxBranches) : results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
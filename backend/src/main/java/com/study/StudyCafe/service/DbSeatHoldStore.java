@@ -0,0 +1,209 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.entity.ReservationSlot;
+import com.study.StudyCafe.entity.SeatHold;
+import com.study.StudyCafe.entity.SeatHoldSlot;
+import com.study.StudyCafe.entity.User;
+import com.study.StudyCafe.repository.ReservationRepository;
+import com.study.StudyCafe.repository.SeatHoldRepository;
+import com.study.StudyCafe.repository.SeatHoldSlotRepository;
+import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * seat_hold 테이블에 홀드를 보관 (기본). 새 홀드는 seat_hold_slot 에 30분 슬롯을 함께 INSERT 하고
+ * (seat_id, slot_start) 유니크 키가 겹치는 홀드끼리의 최종 판정을 한다 → 같은 좌석의 첫 홀드가 동시에 들어와도
+ * 늦은 쪽이 409 로 끝나고, 좌석 행은 잠그지 않으므로 다른 시간대 홀드끼리는 서로 기다리지 않는다.
+ * 비관 모드에서 잠그는 것은 겹치는 기존 홀드 행(연장/만료 정리 대상)뿐.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "seat.hold.store", havingValue = "db", matchIfMissing = true)
+public class DbSeatHoldStore implements SeatHoldStore {
+
+    private final SeatRepository seatRepository;
+    private final SeatHoldRepository seatHoldRepository;
+    private final SeatHoldSlotRepository seatHoldSlotRepository;
+    private final UserRepository userRepository;
+    private final ReservationRepository reservationRepository;
+    private final HoldExpiryWheel holdExpiryWheel;
+    private final SeatLockGuard seatLockGuard;
+
+    @Override
+    @Transactional
+    public SeatHoldSnapshot hold(Long seatId, Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        Long zoneId = seatRepository.findZoneIdById(seatId)
+                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+
+        if (reservationRepository.existsBySeatIdAndTimeOverlap(seatId, startTime, endTime)) {
+            throw new IllegalStateException("해당 시간대에 이미 예약이 있습니다.");
+        }
+        return applyHold(zoneId, seatId, user, startTime, endTime);
+    }
+
+    @Override
+    @Transactional
+    public List<SeatHoldSnapshot> holdAll(Long zoneId, List<Long> seatIds, Long userId,
+                                          LocalDateTime startTime, LocalDateTime endTime) {
+        List<Long> ordered = seatIds.stream().distinct().sorted().toList();
+        if (seatRepository.findZoneIdsByIdIn(ordered).size() != ordered.size()) {
+            throw new IllegalArgumentException("좌석을 찾을 수 없습니다.");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+        if (!reservationRepository.findOverlappingSeatIds(ordered, startTime, endTime).isEmpty()) {
+            throw new IllegalStateException("해당 시간대에 이미 예약이 있습니다.");
+        }
+
+        // ✅ 좌석 id → 슬롯 시각 오름차순으로 슬롯 INSERT → 동시 단체 홀드끼리 교착 없음
+        // 하나라도 실패하면 예외 → 트랜잭션 롤백으로 전부 취소
+        List<SeatHoldSnapshot> holds = new ArrayList<>(ordered.size());
+        for (Long seatId : ordered) {
+            holds.add(applyHold(zoneId, seatId, user, startTime, endTime));
+        }
+        return holds;
+    }
+
+    // 같은 사용자의 겹치는 홀드는 만료만 연장, 다른 사용자의 겹치는 유효 홀드가 있으면 거절, 그 외 새 행
+    private SeatHoldSnapshot applyHold(Long zoneId, Long seatId, User user,
+                                       LocalDateTime startTime, LocalDateTime endTime) {
+        LocalDateTime now = LocalDateTime.now();
+        SeatHold mine = null;
+        List<Long> expired = new ArrayList<>();
+        for (SeatHold h : overlappingHolds(seatId, startTime, endTime)) {
+            if (!h.isActive(now)) {
+                expired.add(h.getId());
+                continue;
+            }
+            if (!h.getUser().getId().equals(user.getId())) {
+                throw new IllegalStateException("다른 사용자가 해당 시간대를 예약 중입니다.");
+            }
+            if (mine == null) mine = h;
+        }
+
+        if (!expired.isEmpty()) {
+            // 만료된 겹치는 홀드는 바로 지워 슬롯을 비운다 (엔티티 삭제는 flush 때 INSERT 뒤에 실행되므로 벌크 DELETE)
+            seatHoldRepository.deleteExpiredByIdIn(expired, now);
+            AfterCommit.run(() -> expired.forEach(holdExpiryWheel::cancel));
+        }
+
+        if (mine == null) {
+            mine = new SeatHold();
+            mine.setSeat(seatRepository.getReferenceById(seatId));
+            mine.setUser(user);
+            mine.setStartTime(startTime);
+            mine.setEndTime(endTime);
+            mine.setExpiresAt(now.plusMinutes(HOLD_MINUTES));
+            seatHoldRepository.save(mine);
+            claimSlots(mine);
+        } else {
+            mine.setExpiresAt(now.plusMinutes(HOLD_MINUTES));
+            seatHoldRepository.save(mine);
+        }
+
+        // ✅ 커밋 후 만료 타이머 등록 (연장이면 기존 타이머 대체)
+        Long holdId = mine.getId();
+        LocalDateTime expiresAt = mine.getExpiresAt();
+        AfterCommit.run(() -> holdExpiryWheel.schedule(holdId, expiresAt));
+
+        return new SeatHoldSnapshot(seatId, zoneId, user.getId(),
+                mine.getStartTime(), mine.getEndTime(), mine.getExpiresAt(), holdId);
+    }
+
+    // (seat_id, slot_start) 유니크 → 겹치는 홀드가 동시에 INSERT 되면 늦은 쪽이 거절된다
+    private void claimSlots(SeatHold hold) {
+        List<SeatHoldSlot> slots = ReservationSlot.slotStarts(hold.getStartTime(), hold.getEndTime()).stream()
+                .map(slotStart -> new SeatHoldSlot(hold, slotStart))
+                .toList();
+        try {
+            seatHoldSlotRepository.saveAllAndFlush(slots);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("다른 사용자가 해당 시간대를 예약 중입니다.");
+        }
+    }
+
+    // 비관 모드: 겹치는 홀드 id 를 읽고 그 행들만 PK 로 잠금 (좌석 행/범위는 잠그지 않음, 새 홀드끼리는 슬롯 유니크 키가 판정)
+    // 낙관 모드: 좌석 version 을 커밋 시 올려 같은 좌석의 동시 변경과 충돌 감지
+    private List<SeatHold> overlappingHolds(Long seatId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!seatLockGuard.isOptimistic()) {
+            List<Long> ids = seatHoldRepository.findOverlappingIds(seatId, startTime, endTime);
+            return ids.isEmpty() ? List.of() : seatHoldRepository.findAllByIdInForUpdate(ids);
+        }
+        seatLockGuard.acquire(seatId)
+                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
+        return seatHoldRepository.findOverlapping(seatId, startTime, endTime);
+    }
+
+    @Override
+    @Transactional
+    public List<SeatHoldSnapshot> release(Long seatId, Long userId) {
+        Long zoneId = seatRepository.findZoneIdById(seatId)
+                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
+        if (seatLockGuard.isOptimistic()) seatLockGuard.acquire(seatId);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SeatHoldSnapshot> released = new ArrayList<>();
+        boolean heldByOther = false;
+        for (SeatHold h : seatHoldRepository.findAllBySeatId(seatId)) {
+            if (!h.isActive(now)) continue;
+            if (!h.getUser().getId().equals(userId)) {
+                heldByOther = true;
+                continue;
+            }
+            released.add(new SeatHoldSnapshot(seatId, zoneId, userId,
+                    h.getStartTime(), h.getEndTime(), h.getExpiresAt(), h.getId()));
+            deleteHold(h);
+        }
+        if (released.isEmpty() && heldByOther) {
+            throw new IllegalStateException("본인이 홀드한 좌석만 취소할 수 있습니다.");
+        }
+        return released;
+    }
+
+    @Override
+    public Set<Long> heldByOthers(Map<Long, Long> zoneBySeat, Long userId, LocalDateTime start, LocalDateTime end) {
+        if (zoneBySeat.isEmpty()) return Set.of();
+        return new HashSet<>(seatHoldRepository.findSeatIdsHeldByOtherUser(
+                zoneBySeat.keySet(), userId, start, end, LocalDateTime.now()));
+    }
+
+    @Override
+    public void clear(Map<Long, Long> zoneBySeat, Long userId, LocalDateTime start, LocalDateTime end) {
+        if (zoneBySeat.isEmpty()) return;
+        List<SeatHold> holds = seatHoldRepository.findOwnOverlapping(zoneBySeat.keySet(), userId, start, end);
+        if (holds.isEmpty()) return;
+        List<Long> holdIds = holds.stream().map(SeatHold::getId).toList();
+        seatHoldRepository.deleteAllInBatch(holds);
+        AfterCommit.run(() -> holdIds.forEach(holdExpiryWheel::cancel));
+    }
+
+    @Override
+    public List<SeatHoldSnapshot> activeHolds(Long zoneId) {
+        LocalDateTime now = LocalDateTime.now();
+        return zoneId != null
+                ? seatHoldRepository.findActiveSnapshotsByZoneId(zoneId, now)
+                : seatHoldRepository.findActiveSnapshots(now);
+    }
+
+    @Override
+    public List<SeatHoldSnapshot> externalHolds(Long zoneId) {
+        return List.of();
+    }
+
+    private void deleteHold(SeatHold hold) {
+        Long holdId = hold.getId();
+        seatHoldRepository.delete(hold);
+        AfterCommit.run(() -> holdExpiryWheel.cancel(holdId));
+    }
+}
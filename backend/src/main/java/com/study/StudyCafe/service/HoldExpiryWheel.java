@@ -0,0 +1,163 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.repository.SeatHoldRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 홀드 만료용 계층형 타이밍 휠 (1초 틱, 레벨당 64칸 × 3레벨 ≈ 3일).
+ * 홀드 행(seat_hold)이 만료 시각을 정하면 등록, 해제/예약 시 취소, 기동 시 seat_hold 에서 다시 채운다.
+ * 매 틱마다 만기된 홀드만 SeatExpireScheduler 로 넘겨 만료 후 1초 안에 풀리게 한다.
+ * 틱은 전용 스레드에서 돈다 (@Scheduled 공용 스레드의 긴 작업 뒤에 밀리지 않도록).
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "seat.hold.store", havingValue = "db", matchIfMissing = true)
+public class HoldExpiryWheel {
+
+    private static final long TICK_MS = 1000;
+    private static final int SLOTS = 64;
+    private static final int LEVELS = 3;
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final SeatExpireScheduler seatExpireScheduler;
+
+    @SuppressWarnings("unchecked")
+    private final Set<Timer>[][] wheels = new Set[LEVELS][SLOTS];
+    private final Set<Timer> overflow = new HashSet<>();   // 최상위 레벨 범위를 넘는 타이머
+    private final Map<Long, Timer> byHold = new HashMap<>(); // 홀드 id → 타이머
+    private long currentTick = System.currentTimeMillis() / TICK_MS;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hold-expiry-wheel");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // SeatExpireScheduler → 가용성 인덱스 → 홀드 저장소 → 휠 순환 참조라 지연 주입
+    public HoldExpiryWheel(SeatHoldRepository seatHoldRepository, @Lazy SeatExpireScheduler seatExpireScheduler) {
+        this.seatHoldRepository = seatHoldRepository;
+        this.seatExpireScheduler = seatExpireScheduler;
+        for (Set<Timer>[] level : wheels) {
+            for (int i = 0; i < SLOTS; i++) level[i] = new HashSet<>();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        int count = 0;
+        for (SeatHoldSnapshot s : seatHoldRepository.findAllSnapshots()) {
+            schedule(s.getHoldId(), s.getHoldExpiresAt());
+            count++;
+        }
+        log.info("[HoldWheel] 기동 시 홀드 타이머 {}개 등록", count);
+        ticker.scheduleAtFixedRate(this::tick, TICK_MS, TICK_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /** 만료 시각 등록 (같은 홀드의 이전 타이머는 대체) */
+    public synchronized void schedule(Long holdId, LocalDateTime expiresAt) {
+        cancelLocked(holdId);
+        Timer timer = new Timer(holdId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        byHold.put(holdId, timer);
+        place(timer);
+    }
+
+    public synchronized void cancel(Long holdId) {
+        cancelLocked(holdId);
+    }
+
+    void tick() {
+        List<Long> due = advance(System.currentTimeMillis());
+        if (due.isEmpty()) return;
+        try {
+            seatExpireScheduler.expire(due);
+        } catch (Exception e) {
+            // 다음 안전망 스윕에서 다시 처리됨
+            log.warn("[HoldWheel] 만료 처리 실패: holdIds={}", due, e);
+        }
+    }
+
+    /** nowMs 까지 틱을 진행하고 만기된 홀드 id 를 돌려준다 */
+    synchronized List<Long> advance(long nowMs) {
+        List<Long> due = new ArrayList<>();
+        long target = nowMs / TICK_MS;
+        while (currentTick < target) {
+            currentTick++;
+            // 상위 레벨부터 한 칸씩 내려보냄
+            for (int level = LEVELS - 1; level >= 1; level--) {
+                long span = span(level);
+                if (currentTick % span == 0) {
+                    cascade(wheels[level][(int) ((currentTick / span) % SLOTS)]);
+                    if (level == LEVELS - 1) cascade(overflow);
+                }
+            }
+            Set<Timer> slot = wheels[0][(int) (currentTick % SLOTS)];
+            for (Timer t : slot) {
+                byHold.remove(t.holdId, t);
+                due.add(t.holdId);
+            }
+            slot.clear();
+        }
+        return due;
+    }
+
+    private void cascade(Set<Timer> bucket) {
+        if (bucket.isEmpty()) return;
+        List<Timer> timers = new ArrayList<>(bucket);
+        bucket.clear();
+        timers.forEach(this::place);
+    }
+
+    private void place(Timer timer) {
+        long ticks = Math.max((timer.expiresAtMs + TICK_MS - 1) / TICK_MS, currentTick + 1);
+        long delta = ticks - currentTick;
+        timer.bucket = null;
+        for (int level = 0; level < LEVELS; level++) {
+            long span = span(level);
+            if (delta < span * SLOTS) {
+                timer.bucket = wheels[level][(int) ((ticks / span) % SLOTS)];
+                break;
+            }
+        }
+        if (timer.bucket == null) timer.bucket = overflow;
+        timer.bucket.add(timer);
+    }
+
+    private void cancelLocked(Long holdId) {
+        Timer old = byHold.remove(holdId);
+        if (old != null && old.bucket != null) old.bucket.remove(old);
+    }
+
+    // 레벨별 칸 하나가 덮는 틱 수 (1, 64, 4096)
+    private static long span(int level) {
+        return 1L << (6 * level);
+    }
+
+    private static final class Timer {
+        final Long holdId;
+        final long expiresAtMs;
+        Set<Timer> bucket;
+
+        Timer(Long holdId, long expiresAtMs) {
+            this.holdId = holdId;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+}
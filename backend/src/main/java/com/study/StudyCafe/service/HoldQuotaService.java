@@ -0,0 +1,212 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 사용자/존별 유효 홀드 개수 제한 (메모리 카운터).
+ * 홀드 시 DB 작업 전에 확인하면서 자리를 먼저 잡아 두고(트랜잭션이 끝나면 반납),
+ * 홀드/해제/예약/만료가 커밋 후 카운터를 직접 올리고 내린다 (COUNT 쿼리 없음).
+ * 놓친 감소가 있어도 항목마다 만료 시각을 들고 있어 만료 후에는 자연히 빠진다.
+ * limit 이 0 이하이면 해당 제한 없음.
+ * <p>
+ * 카운터는 인스턴스마다 따로 있다. 기동 시 저장소의 유효 홀드로 채우지만 다른 인스턴스가 그 뒤에 잡은 홀드는 모르므로,
+ * 여러 인스턴스를 띄우면 요청이 흩어지는 만큼 실제 한도가 최대 인스턴스 수 배까지 느슨해진다 (남용 억제용 제한).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HoldQuotaService {
+
+    private final SeatHoldStore seatHoldStore;
+
+    @Value("${seat.hold.quota.per-user:4}")
+    private int perUser;
+
+    @Value("${seat.hold.quota.per-zone:0}")
+    private int perZone;
+
+    // 좌석 → 시간대 시작 → 홀드 (한 좌석의 유효 홀드끼리는 겹치지 않음)
+    private final Map<Long, TreeMap<LocalDateTime, Entry>> bySeat = new HashMap<>();
+    private final Map<Long, Set<Entry>> byUser = new HashMap<>();
+    private final Map<Long, Integer> zoneCounts = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<SeatHoldSnapshot> holds = seatHoldStore.activeHolds(null);
+        synchronized (this) {
+            holds.forEach(this::put);
+        }
+        log.info("[HoldQuota] 기동 시 유효 홀드 {}개 반영", holds.size());
+    }
+
+    /**
+     * 새 홀드 newSeatIds × [start, end) 를 더해도 제한 안인지 확인하고, 통과하면 그만큼 바로 자리를 잡는다
+     * (동시 요청이 같은 여유분을 함께 쓰지 않도록). 잡은 자리는 호출 트랜잭션이 끝나면 반납하고,
+     * 커밋된 홀드는 onHeld 가 실제 항목으로 넣는다. 본인의 같은 좌석·겹치는 시간대 홀드는 연장으로 보고 세지 않는다.
+     * zoneId 를 모르면(인덱스 미워밍) 존 제한은 건너뛴다.
+     */
+    public synchronized void check(Long userId, Long zoneId, Collection<Long> newSeatIds,
+                                   LocalDateTime start, LocalDateTime end) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Entry> mine = byUser.getOrDefault(userId, Set.of());
+        purgeExpired(List.copyOf(mine), now);
+
+        List<Long> adding = newSeatIds.stream().distinct()
+                .filter(seatId -> mine.stream().noneMatch(e -> e.seatId.equals(seatId) && e.overlaps(start, end)))
+                .toList();
+        if (adding.isEmpty()) return;
+
+        if (perUser > 0 && mine.size() + adding.size() > perUser) {
+            LocalDateTime firstExpiry = mine.stream().map(e -> e.expiresAt).min(Comparator.naturalOrder()).orElse(now);
+            throw new QuotaExceededException("동시에 홀드할 수 있는 좌석은 최대 " + perUser + "개입니다.",
+                    retryAfterSeconds(firstExpiry, now));
+        }
+        if (perZone > 0 && zoneId != null && zoneCounts.getOrDefault(zoneId, 0) + adding.size() > perZone) {
+            throw new QuotaExceededException("이 지점의 홀드가 많아 잠시 후 다시 시도해 주세요.",
+                    retryAfterSeconds(now.plusSeconds(30), now));
+        }
+
+        LocalDateTime expiresAt = now.plusMinutes(SeatHoldStore.HOLD_MINUTES);
+        List<Entry> pending = adding.stream()
+                .map(seatId -> new Entry(seatId, zoneId, userId, start, end, expiresAt, true))
+                .toList();
+        pending.forEach(this::putPending);
+        // 트랜잭션 밖이면 반납 시점을 알 수 없어 만료 시각에 빠진다
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    synchronized (HoldQuotaService.this) {
+                        pending.forEach(HoldQuotaService.this::remove);
+                    }
+                }
+            });
+        }
+    }
+
+    /** 홀드 획득/연장 (커밋 후 반영) */
+    public void onHeld(SeatHoldSnapshot hold) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                put(hold);
+            }
+        });
+    }
+
+    /** 좌석의 [start, end) 와 겹치는 홀드 제거: 해제/예약/만료 (커밋 후 반영) */
+    public void onCleared(Long seatId, LocalDateTime start, LocalDateTime end) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                TreeMap<LocalDateTime, Entry> holds = bySeat.get(seatId);
+                if (holds == null) return;
+                List.copyOf(holds.headMap(end, false).values()).stream()
+                        .filter(e -> e.endTime.isAfter(start))
+                        .forEach(this::remove);
+            }
+        });
+    }
+
+    // 다른 인스턴스에서 해제된 홀드 등 감소를 놓친 항목 정리
+    @Scheduled(fixedDelay = 60_000)
+    public synchronized void purgeExpired() {
+        List<Entry> all = new ArrayList<>();
+        bySeat.values().forEach(m -> all.addAll(m.values()));
+        purgeExpired(all, LocalDateTime.now());
+    }
+
+    private void purgeExpired(List<Entry> entries, LocalDateTime now) {
+        for (Entry e : entries) {
+            if (!e.expiresAt.isAfter(now)) remove(e);
+        }
+    }
+
+    // 같은 좌석의 겹치는 이전 항목(연장 전 값)은 대체
+    private void put(SeatHoldSnapshot h) {
+        if (h.getHoldUserId() == null || h.getHoldExpiresAt() == null) return;
+        TreeMap<LocalDateTime, Entry> holds = bySeat.get(h.getSeatId());
+        if (holds != null) {
+            List.copyOf(holds.headMap(h.getHoldEndTime(), false).values()).stream()
+                    .filter(e -> e.endTime.isAfter(h.getHoldStartTime()))
+                    .forEach(this::remove);
+        }
+        Entry e = new Entry(h.getSeatId(), h.getZoneId(), h.getHoldUserId(),
+                h.getHoldStartTime(), h.getHoldEndTime(), h.getHoldExpiresAt(), false);
+        bySeat.computeIfAbsent(e.seatId, k -> new TreeMap<>()).put(e.startTime, e);
+        byUser.computeIfAbsent(e.userId, k -> new HashSet<>()).add(e);
+        if (e.zoneId != null) zoneCounts.merge(e.zoneId, 1, Integer::sum);
+    }
+
+    // check 가 잡아 둔 자리: 좌석별 맵에는 넣지 않는다 (다른 사용자의 겹치는 항목을 대체하지 않도록)
+    private void putPending(Entry e) {
+        byUser.computeIfAbsent(e.userId, k -> new HashSet<>()).add(e);
+        if (e.zoneId != null) zoneCounts.merge(e.zoneId, 1, Integer::sum);
+    }
+
+    private void remove(Entry e) {
+        if (!e.pending) {
+            TreeMap<LocalDateTime, Entry> holds = bySeat.get(e.seatId);
+            if (holds == null || !holds.remove(e.startTime, e)) return;
+            if (holds.isEmpty()) bySeat.remove(e.seatId);
+        }
+
+        Set<Entry> mine = byUser.get(e.userId);
+        boolean removed = mine != null && mine.remove(e);
+        if (removed && mine.isEmpty()) byUser.remove(e.userId);
+        if (e.pending && !removed) return; // 이미 반납됨
+        if (e.zoneId != null) zoneCounts.computeIfPresent(e.zoneId, (k, n) -> n > 1 ? n - 1 : null);
+    }
+
+    private static long retryAfterSeconds(LocalDateTime until, LocalDateTime now) {
+        return Math.max(1, Duration.between(now, until).toSeconds() + 1);
+    }
+
+    /** 홀드 개수 제한 초과 → 429 + Retry-After */
+    @Getter
+    public static class QuotaExceededException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public QuotaExceededException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    private static final class Entry {
+        final Long seatId;
+        final Long zoneId;
+        final Long userId;
+        final LocalDateTime startTime;
+        final LocalDateTime endTime;
+        final LocalDateTime expiresAt;
+        final boolean pending;
+
+        Entry(Long seatId, Long zoneId, Long userId,
+              LocalDateTime startTime, LocalDateTime endTime, LocalDateTime expiresAt, boolean pending) {
+            this.seatId = seatId;
+            this.zoneId = zoneId;
+            this.userId = userId;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.expiresAt = expiresAt;
+            this.pending = pending;
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            return startTime.isBefore(end) && endTime.isAfter(start);
+        }
+    }
+}
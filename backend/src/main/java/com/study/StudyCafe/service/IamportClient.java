@@ -0,0 +1,115 @@
+package com.study.StudyCafe.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 아임포트 REST 호출 전용 클라이언트.
+ * HTTP/2 를 쓰는 HttpClient 하나를 공유해 연결(TLS)을 재사용하고, 연결/요청마다 타임아웃을 건다.
+ * 엔드포인트별 지연은 iamport.request{endpoint, status} 히스토그램으로 남긴다.
+ * 토큰 관리는 {@link IamportTokenManager} 가 한다.
+ */
+@Component
+public class IamportClient {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final HttpClient httpClient;
+
+    @Value("${iamport.base-url:https://api.iamport.kr}")
+    private String baseUrl;
+
+    @Value("${iamport.http.token-timeout-ms:5000}")
+    private long tokenTimeoutMs;
+
+    @Value("${iamport.http.payment-timeout-ms:5000}")
+    private long paymentTimeoutMs;
+
+    @Value("${iamport.http.cancel-timeout-ms:10000}")
+    private long cancelTimeoutMs;
+
+    public IamportClient(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${iamport.http.connect-timeout-ms:2000}") long connectTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2) // 서버가 지원하지 않으면 HTTP/1.1 keep-alive 로 내려감
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+    }
+
+    /** POST /users/getToken */
+    public Response getToken(String apiKey, String apiSecret) throws IOException, InterruptedException {
+        String form = "imp_key=" + URLEncoder.encode(apiKey, StandardCharsets.UTF_8)
+                + "&imp_secret=" + URLEncoder.encode(apiSecret, StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/users/getToken"))
+                .timeout(Duration.ofMillis(tokenTimeoutMs))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return send("getToken", request);
+    }
+
+    /** GET /payments/{imp_uid} */
+    public Response getPayment(String accessToken, String impUid) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/payments/" + URLEncoder.encode(impUid, StandardCharsets.UTF_8)))
+                .timeout(Duration.ofMillis(paymentTimeoutMs))
+                .header("Authorization", accessToken)
+                .GET()
+                .build();
+        return send("payments/{imp_uid}", request);
+    }
+
+    /** POST /payments/cancel (전액 취소) */
+    public Response cancelPayment(String accessToken, String impUid, String reason) throws IOException, InterruptedException {
+        String json = objectMapper.writeValueAsString(Map.of("imp_uid", impUid, "reason", reason == null ? "" : reason));
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/payments/cancel"))
+                .timeout(Duration.ofMillis(cancelTimeoutMs))
+                .header("Authorization", accessToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return send("payments/cancel", request);
+    }
+
+    private Response send(String endpoint, HttpRequest request) throws IOException, InterruptedException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            status = String.valueOf(response.statusCode());
+            return new Response(response.statusCode(), objectMapper.readTree(response.body()));
+        } finally {
+            sample.stop(Timer.builder("iamport.request")
+                    .tag("endpoint", endpoint)
+                    .tag("status", status)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /** HTTP 상태 + 본문 JSON. 아임포트 결과는 body.response 에 있다 */
+    public record Response(int status, JsonNode body) {
+        public JsonNode response() {
+            return body.path("response");
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.study.StudyCafe.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 아임포트 access token 캐시.
+ * - 만료 refresh-before-ms 전부터는 캐시된 토큰을 그대로 돌려주면서 백그라운드에서 새로 받는다
+ * - 갱신은 single-flight: 동시에 여러 결제가 와도 getToken 호출은 한 번
+ * - 토큰이 없거나 이미 만료된 경우에만 호출 스레드가 (진행 중인 갱신을 기다리며) 동기로 받는다
+ */
+@Slf4j
+@Component
+public class IamportTokenManager {
+
+    // 만료 직전 토큰을 들고 나가 요청 중에 만료되지 않도록 두는 여유
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(5);
+
+    private final IamportClient iamportClient;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "iamport-token-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final AtomicReference<CompletableFuture<Token>> inFlight = new AtomicReference<>();
+    private volatile Token cached;
+
+    private final Counter backgroundRefreshes;
+    private final Counter blockingFetches;
+
+    @Value("${iamport.api-key}")
+    private String apiKey;
+
+    @Value("${iamport.api-secret}")
+    private String apiSecret;
+
+    @Value("${iamport.token.refresh-before-ms:60000}")
+    private long refreshBeforeMs;
+
+    @Value("${iamport.token.timeout-ms:5000}")
+    private long timeoutMs;
+
+    public IamportTokenManager(IamportClient iamportClient, MeterRegistry meterRegistry) {
+        this.iamportClient = iamportClient;
+        this.backgroundRefreshes = Counter.builder("iamport.token.fetch").tag("mode", "background").register(meterRegistry);
+        this.blockingFetches = Counter.builder("iamport.token.fetch").tag("mode", "blocking").register(meterRegistry);
+    }
+
+    /** 유효한 access token. 캐시가 만료 임박이면 백그라운드 갱신만 걸고 바로 반환 */
+    public String getToken() {
+        Instant now = Instant.now();
+        Token token = cached;
+        if (token != null && now.isBefore(token.expiresAt.minus(EXPIRY_MARGIN))) {
+            if (!now.isBefore(token.expiresAt.minusMillis(refreshBeforeMs))) {
+                if (refresh() != null) backgroundRefreshes.increment();
+            }
+            return token.value;
+        }
+
+        blockingFetches.increment();
+        try {
+            return refreshOrJoin().get(timeoutMs, TimeUnit.MILLISECONDS).value;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("아임포트 토큰 발급 실패", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("아임포트 토큰 발급 시간 초과", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("아임포트 토큰 발급이 중단되었습니다.", e);
+        }
+    }
+
+    /**
+     * 토큰을 붙여 아임포트를 호출. 401 이면 그 토큰을 버리고 새 토큰으로 한 번만 다시 호출한다
+     * (서버 쪽에서 먼저 만료/폐기된 토큰으로 실패한 요청을 그대로 실패시키지 않도록).
+     */
+    public IamportClient.Response call(TokenCall call) throws IOException, InterruptedException {
+        String token = getToken();
+        IamportClient.Response response = call.send(token);
+        if (response.status() != 401) return response;
+        invalidate(token);
+        return call.send(getToken());
+    }
+
+    @FunctionalInterface
+    public interface TokenCall {
+        IamportClient.Response send(String accessToken) throws IOException, InterruptedException;
+    }
+
+    /** API 가 401 을 돌려주면 해당 토큰을 버려 다음 호출이 새로 받게 한다 */
+    public void invalidate(String token) {
+        Token current = cached;
+        if (current != null && current.value.equals(token)) cached = null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // 진행 중인 갱신이 있으면 그것을, 없으면 새 갱신을 돌려준다
+    private CompletableFuture<Token> refreshOrJoin() {
+        while (true) {
+            CompletableFuture<Token> running = inFlight.get();
+            if (running != null) return running;
+            CompletableFuture<Token> started = refresh();
+            if (started != null) return started;
+        }
+    }
+
+    // 갱신을 시작했으면 그 future, 이미 누가 하고 있으면 null
+    private CompletableFuture<Token> refresh() {
+        CompletableFuture<Token> future = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, future)) return null;
+        try {
+            refresher.execute(() -> {
+                try {
+                    Token token = fetch();
+                    cached = token;
+                    future.complete(token);
+                } catch (Exception e) {
+                    log.warn("[Iamport] 토큰 발급 실패: {}", e.getMessage());
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.compareAndSet(future, null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.compareAndSet(future, null);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private Token fetch() throws Exception {
+        IamportClient.Response response = iamportClient.getToken(apiKey, apiSecret);
+        JsonNode res = response.response();
+        String accessToken = res.path("access_token").asText(null);
+        if (response.status() != 200 || accessToken == null) {
+            throw new IllegalStateException("getToken 응답 오류 status=" + response.status());
+        }
+
+        // expired_at 은 아임포트 서버 시각(now) 기준 unix 초 → 남은 시간만 가져와 로컬 시계로 환산
+        long remaining = res.path("expired_at").asLong() - res.path("now").asLong();
+        return new Token(accessToken, Instant.now().plusSeconds(Math.max(0, remaining)));
+    }
+
+    private record Token(String value, Instant expiresAt) {}
+}
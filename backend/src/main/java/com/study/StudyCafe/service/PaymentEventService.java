@@ -0,0 +1,142 @@
+package com.study.StudyCafe.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.StudyCafe.constant.PaymentEventSource;
+import com.study.StudyCafe.constant.PaymentEventStatus;
+import com.study.StudyCafe.dto.payment.PaymentRequestDto;
+import com.study.StudyCafe.dto.payment.PaymentResponseDto;
+import com.study.StudyCafe.dto.payment.PaymentWebhookDto;
+import com.study.StudyCafe.entity.PaymentEvent;
+import com.study.StudyCafe.entity.PaymentSaga;
+import com.study.StudyCafe.repository.PaymentEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 결제 이벤트 접수/상태 조회.
+ * 웹훅과 브라우저의 예약 요청은 저장만 하고 바로 응답하며, 실제 검증/예약은 {@link PaymentEventWorker} 가 한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentEventService {
+
+    private final PaymentEventRepository paymentEventRepository;
+    private final PaymentSagaService paymentSagaService;
+    private final PaymentEventWorker paymentEventWorker;
+    private final ObjectMapper objectMapper;
+
+    // 아임포트 imp_uid / 가맹점 merchant_uid 로 쓰는 문자만, 컬럼 길이 안에서
+    private static final Pattern UID = Pattern.compile("[A-Za-z0-9_\\-.:]{1,100}");
+    private static final Set<String> WEBHOOK_STATUSES = Set.of("ready", "paid", "failed", "cancelled");
+
+    @Value("${payment.webhook.max-pending:10000}")
+    private long maxPendingWebhooks;
+
+    /**
+     * 아임포트 웹훅 접수. 인증 없는 엔드포인트라 형식이 맞는 본문만 받고(내용은 워커가 게이트웨이로 확인),
+     * 같은 알림이 처리 대기 중이면 다시 쌓지 않으며, 대기 중인 웹훅이 max-pending 을 넘으면 429.
+     */
+    @Transactional
+    public void acceptWebhook(PaymentWebhookDto dto) {
+        if (!isUid(dto.getMerchantUid()) || !isUid(dto.getImpUid())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "imp_uid / merchant_uid 형식이 올바르지 않습니다.");
+        }
+        if (!WEBHOOK_STATUSES.contains(dto.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 결제 상태입니다.");
+        }
+        if (paymentEventRepository.existsByMerchantUidAndImpUidAndSourceAndStatusIn(dto.getMerchantUid(), dto.getImpUid(),
+                PaymentEventSource.WEBHOOK, List.of(PaymentEventStatus.RECEIVED, PaymentEventStatus.PROCESSING))) {
+            return;
+        }
+        if (paymentEventRepository.countBySourceAndStatus(PaymentEventSource.WEBHOOK, PaymentEventStatus.RECEIVED) >= maxPendingWebhooks) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "처리 대기 중인 웹훅이 너무 많습니다.");
+        }
+        paymentEventRepository.save(new PaymentEvent(dto.getMerchantUid(), dto.getImpUid(), PaymentEventSource.WEBHOOK, toJson(dto)));
+        AfterCommit.run(paymentEventWorker::signal);
+    }
+
+    private static boolean isUid(String uid) {
+        return uid != null && UID.matcher(uid).matches();
+    }
+
+    /** 브라우저의 결제 완료 후 예약 요청 접수 (좌석/시간 포함) */
+    @Transactional
+    public void acceptRequest(PaymentRequestDto dto) {
+        if (dto.getMerchantUid() == null || dto.getMerchantUid().isBlank()) {
+            throw new IllegalArgumentException("merchantUid 가 없습니다.");
+        }
+        paymentEventRepository.save(new PaymentEvent(dto.getMerchantUid(), dto.getImpUid(), PaymentEventSource.CLIENT, toJson(dto)));
+        AfterCommit.run(paymentEventWorker::signal);
+    }
+
+    /** 주문 처리 상태. 사가가 있으면 그 결과, 접수만 된 상태면 PENDING, 모르는 주문이면 empty */
+    @Transactional(readOnly = true)
+    public Optional<PaymentResponseDto> status(String merchantUid) {
+        Optional<PaymentSaga> saga = paymentSagaService.find(merchantUid);
+        if (saga.isPresent()) return saga.map(PaymentEventService::toStatus);
+
+        return paymentEventRepository.findFirstByMerchantUidOrderByIdDesc(merchantUid).map(event -> {
+            if (event.getStatus() == PaymentEventStatus.FAILED) return failedStatus(merchantUid);
+            PaymentResponseDto dto = new PaymentResponseDto();
+            dto.setMerchantUid(merchantUid);
+            dto.setStatus("PENDING");
+            dto.setMessage("결제 확인 중");
+            return dto;
+        });
+    }
+
+    static PaymentResponseDto toStatus(PaymentSaga saga) {
+        PaymentResponseDto dto = new PaymentResponseDto();
+        dto.setMerchantUid(saga.getMerchantUid());
+        dto.setAmount(saga.getAmount() == null ? 0 : saga.getAmount());
+        switch (saga.getState()) {
+            case STARTED, UNVERIFIED, VERIFIED -> {
+                dto.setStatus("PENDING");
+                dto.setMessage("결제 확인 중");
+            }
+            case RESERVED -> {
+                dto.setStatus("PAID");
+                dto.setMessage("결제 및 예약 완료");
+            }
+            case REJECTED -> {
+                dto.setStatus("FAILED");
+                dto.setMessage("결제 실패 또는 예약 불가");
+            }
+            case COMPENSATING, REFUND_FAILED -> {
+                dto.setStatus("REFUNDING");
+                dto.setMessage("예약 불가, 환불 진행 중");
+            }
+            case REFUNDED -> {
+                dto.setStatus("REFUNDED");
+                dto.setMessage("예약 불가, 환불 완료");
+            }
+        }
+        return dto;
+    }
+
+    static PaymentResponseDto failedStatus(String merchantUid) {
+        PaymentResponseDto dto = new PaymentResponseDto();
+        dto.setMerchantUid(merchantUid);
+        dto.setStatus("FAILED");
+        dto.setMessage("결제 처리 실패");
+        return dto;
+    }
+
+    private String toJson(Object dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("결제 이벤트 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.study.StudyCafe.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.StudyCafe.constant.PaymentEventSource;
+import com.study.StudyCafe.constant.PaymentEventStatus;
+import com.study.StudyCafe.constant.PaymentSagaState;
+import com.study.StudyCafe.dto.payment.PaymentRequestDto;
+import com.study.StudyCafe.dto.payment.PaymentResponseDto;
+import com.study.StudyCafe.dto.payment.PaymentWebhookDto;
+import com.study.StudyCafe.entity.PaymentEvent;
+import com.study.StudyCafe.entity.PaymentSaga;
+import com.study.StudyCafe.repository.PaymentEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * payment_event 대기열 처리기.
+ * 디스패처 스레드가 처리할 차례가 된 RECEIVED 행을 가져가(claim) merchantUid 해시로 고른 단일 스레드 워커에 넘긴다
+ * → 같은 주문의 웹훅/예약 요청은 한 스레드에서 순서대로, 다른 주문끼리는 병렬로 처리된다.
+ * 실제 확정은 {@link PaymentService#verifyAndReserve} (payment_saga 가 merchantUid 로 중복 처리를 막음).
+ * 처리 결과는 /topic/payments/{merchantUid} 로 푸시. 메트릭: payment.event.processed{result}, payment.event.lag
+ */
+@Slf4j
+@Component
+public class PaymentEventWorker {
+
+    private final PaymentEventRepository paymentEventRepository;
+    private final PaymentService paymentService;
+    private final PaymentSagaService paymentSagaService;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+
+    @Value("${payment.worker.threads:4}")
+    private int threads;
+
+    @Value("${payment.worker.max-in-flight:64}")
+    private int maxInFlight;
+
+    @Value("${payment.worker.poll-ms:1000}")
+    private long pollMs;
+
+    @Value("${payment.worker.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${payment.worker.retry-delay-ms:5000}")
+    private long retryDelayMs;
+
+    @Value("${payment.worker.processing-timeout-ms:300000}")
+    private long processingTimeoutMs;
+
+    // 웹훅이 브라우저의 예약 요청보다 먼저 오면 이만큼 기다렸다가, 그래도 없으면 환불
+    @Value("${payment.webhook.intent-wait-ms:600000}")
+    private long intentWaitMs;
+
+    @Value("${payment.webhook.intent-recheck-ms:10000}")
+    private long intentRecheckMs;
+
+    private final Semaphore wake = new Semaphore(0);
+    private Semaphore inFlight;
+    private ExecutorService[] stripes;
+    private volatile boolean running;
+    private Thread dispatcher;
+
+    public PaymentEventWorker(PaymentEventRepository paymentEventRepository,
+                              PaymentService paymentService,
+                              PaymentSagaService paymentSagaService,
+                              TransactionTemplate transactionTemplate,
+                              SimpMessagingTemplate messagingTemplate,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.paymentEventRepository = paymentEventRepository;
+        this.paymentService = paymentService;
+        this.paymentSagaService = paymentSagaService;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("payment.event.lag").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        inFlight = new Semaphore(maxInFlight);
+        stripes = new ExecutorService[threads];
+        for (int i = 0; i < threads; i++) {
+            String name = "payment-worker-" + i;
+            stripes[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, name);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        running = true;
+        dispatcher = new Thread(this::loop, "payment-event-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (dispatcher != null) dispatcher.interrupt();
+        // 처리 중이던 행은 PROCESSING 으로 남고, 재시작 후 releaseStuck 이 되돌린다
+        if (stripes != null) for (ExecutorService stripe : stripes) stripe.shutdownNow();
+    }
+
+    /** 새 이벤트가 커밋됐음을 알림 → 폴링 주기를 기다리지 않고 바로 가져간다 */
+    public void signal() {
+        if (wake.availablePermits() == 0) wake.release();
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                int dispatched = dispatchOnce();
+                if (dispatched == 0) {
+                    wake.tryAcquire(pollMs, TimeUnit.MILLISECONDS);
+                    wake.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("[PaymentEvent] 대기열 조회 실패, {}ms 후 재시도: {}", pollMs, e.getMessage());
+                try {
+                    Thread.sleep(pollMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // 워커에 자리가 있는 만큼만 가져간다 (claim 한 행은 반드시 워커에 넘어감)
+    int dispatchOnce() throws InterruptedException {
+        int room = Math.max(1, inFlight.availablePermits());
+        List<Long> ids = paymentEventRepository.findReadyIds(LocalDateTime.now(), PageRequest.of(0, room));
+        int dispatched = 0;
+        for (Long id : ids) {
+            inFlight.acquire();
+            if (paymentEventRepository.claim(id, LocalDateTime.now()) == 0) { // 다른 인스턴스가 가져감
+                inFlight.release();
+                continue;
+            }
+            Optional<PaymentEvent> event = paymentEventRepository.findById(id);
+            if (event.isEmpty()) {
+                inFlight.release();
+                continue;
+            }
+            stripeOf(event.get().getMerchantUid()).execute(() -> {
+                try {
+                    handle(event.get());
+                } finally {
+                    inFlight.release();
+                }
+            });
+            dispatched++;
+        }
+        return dispatched;
+    }
+
+    private ExecutorService stripeOf(String merchantUid) {
+        return stripes[Math.floorMod(merchantUid.hashCode(), stripes.length)];
+    }
+
+    private void handle(PaymentEvent event) {
+        String merchantUid = event.getMerchantUid();
+        try {
+            String result = switch (event.getSource()) {
+                case CLIENT -> handleClient(event);
+                case WEBHOOK -> handleWebhook(event);
+            };
+            if (result == null) return; // 다시 예약됨
+            finish(event.getId(), PaymentEventStatus.PROCESSED, null);
+            count(result);
+            lag.record(Duration.between(event.getReceivedAt(), LocalDateTime.now()));
+        } catch (DataIntegrityViolationException e) {
+            // 동기 /verify 와 동시에 사가를 시작한 경우 → 저쪽이 처리한다
+            log.info("[PaymentEvent] 이미 처리 중인 주문 merchantUid={}", merchantUid);
+            finish(event.getId(), PaymentEventStatus.PROCESSED, null);
+            count("duplicate");
+        } catch (Exception e) {
+            log.warn("[PaymentEvent] 처리 실패 id={} merchantUid={}: {}", event.getId(), merchantUid, e.getMessage());
+            retryOrFail(event, e.getMessage());
+            return;
+        }
+        push(merchantUid);
+    }
+
+    private String handleClient(PaymentEvent event) throws Exception {
+        PaymentRequestDto dto = objectMapper.readValue(event.getPayload(), PaymentRequestDto.class);
+        return result(paymentService.verifyAndReserve(dto));
+    }
+
+    // 웹훅: 결제 완료 알림. 좌석/시간 정보는 브라우저의 예약 요청에 있으므로 그것으로 확정한다
+    // 인증 없는 엔드포인트라 본문은 믿지 않는다: 게이트웨이에서 imp_uid 가 이 주문의 paid 결제인지 먼저 확인
+    private String handleWebhook(PaymentEvent event) throws Exception {
+        PaymentWebhookDto webhook = objectMapper.readValue(event.getPayload(), PaymentWebhookDto.class);
+        if (!"paid".equals(webhook.getStatus())) return "ignored";
+        Optional<String> gatewayStatus = paymentService.gatewayStatus(event.getMerchantUid(), event.getImpUid());
+        if (gatewayStatus.isEmpty()) {
+            log.warn("[PaymentEvent] 게이트웨이와 맞지 않는 웹훅 merchantUid={} impUid={}", event.getMerchantUid(), event.getImpUid());
+            return "invalid";
+        }
+        if (!"paid".equals(gatewayStatus.get())) return "ignored";
+        Optional<PaymentSaga> saga = paymentSagaService.find(event.getMerchantUid());
+        if (saga.isPresent()) {
+            // 확인 보류/거절된 주문에 결제 완료가 늦게 오면 게이트웨이로 다시 확인해 예약 또는 환불
+            if (!PaymentSagaService.UNSETTLED.contains(saga.get().getState())) return "duplicate";
+            return result(paymentService.reconcile(event.getMerchantUid()));
+        }
+
+        Optional<PaymentEvent> intent = paymentEventRepository
+                .findFirstByMerchantUidAndSourceOrderByIdDesc(event.getMerchantUid(), PaymentEventSource.CLIENT);
+        if (intent.isPresent()) {
+            PaymentRequestDto dto = objectMapper.readValue(intent.get().getPayload(), PaymentRequestDto.class);
+            return result(paymentService.verifyAndReserve(dto));
+        }
+
+        if (Duration.between(event.getReceivedAt(), LocalDateTime.now()).toMillis() < intentWaitMs) {
+            reschedule(event.getId(), intentRecheckMs, null, false);
+            return null;
+        }
+        log.warn("[PaymentEvent] 예약 요청 없는 결제, 환불 merchantUid={}", event.getMerchantUid());
+        paymentService.refundOrphan(event.getMerchantUid(), event.getImpUid());
+        return "orphan_refund";
+    }
+
+    // 결제 확인 보류(게이트웨이 오류/결제 전)는 실패로 던져 retryOrFail 로 다시 시도
+    // max-attempts 를 넘겨 이벤트가 FAILED 가 돼도 사가는 UNVERIFIED 로 남아 스케줄러가 이어서 확인한다
+    private static String result(PaymentSagaState state) {
+        return switch (state) {
+            case RESERVED -> "reserved";
+            case STARTED, UNVERIFIED -> throw new IllegalStateException("결제 확인 보류 (사가 " + state + ")");
+            default -> "rejected";
+        };
+    }
+
+    private void retryOrFail(PaymentEvent event, String error) {
+        try {
+            if (event.getAttempts() + 1 >= maxAttempts) {
+                transactionTemplate.executeWithoutResult(tx -> paymentEventRepository.findById(event.getId()).ifPresent(e -> {
+                    e.setAttempts(e.getAttempts() + 1);
+                    e.setLastError(truncate(error));
+                    e.setStatus(PaymentEventStatus.FAILED);
+                    e.setProcessedAt(LocalDateTime.now());
+                }));
+                count("failed");
+                push(event.getMerchantUid());
+            } else {
+                // 시도할수록 지연을 늘린다
+                reschedule(event.getId(), retryDelayMs * (1L << event.getAttempts()), error, true);
+                count("retry");
+            }
+        } catch (RuntimeException e) {
+            log.error("[PaymentEvent] 상태 기록 실패 id={} (processing-timeout 후 다시 처리)", event.getId(), e);
+        }
+    }
+
+    private void reschedule(Long id, long delayMs, String error, boolean countAttempt) {
+        transactionTemplate.executeWithoutResult(tx -> paymentEventRepository.findById(id).ifPresent(e -> {
+            if (countAttempt) e.setAttempts(e.getAttempts() + 1);
+            if (error != null) e.setLastError(truncate(error));
+            e.setStatus(PaymentEventStatus.RECEIVED);
+            e.setAvailableAt(LocalDateTime.now().plus(Duration.ofMillis(delayMs)));
+        }));
+    }
+
+    private void finish(Long id, PaymentEventStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx -> paymentEventRepository.findById(id).ifPresent(e -> {
+            e.setStatus(status);
+            e.setLastError(truncate(error));
+            e.setProcessedAt(LocalDateTime.now());
+        }));
+    }
+
+    // 결제 화면이 구독 중인 토픽으로 최종 상태 푸시 (상태 조회 API 와 같은 형태)
+    private void push(String merchantUid) {
+        try {
+            PaymentResponseDto status = paymentSagaService.find(merchantUid)
+                    .map(PaymentEventService::toStatus)
+                    .orElseGet(() -> PaymentEventService.failedStatus(merchantUid));
+            messagingTemplate.convertAndSend("/topic/payments/" + merchantUid, status);
+        } catch (RuntimeException e) {
+            log.debug("[PaymentEvent] 상태 푸시 실패 merchantUid={}: {}", merchantUid, e.getMessage());
+        }
+    }
+
+    // ✅ 처리 도중 서버가 죽어 PROCESSING 으로 남은 행을 대기열로 되돌림
+    @Scheduled(fixedDelayString = "${payment.worker.release-interval-ms:60000}", initialDelay = 60_000)
+    public void releaseStuck() {
+        int released = paymentEventRepository.releaseStuck(LocalDateTime.now().minus(Duration.ofMillis(processingTimeoutMs)));
+        if (released > 0) {
+            log.warn("[PaymentEvent] 멈춘 이벤트 {}개 재처리", released);
+            signal();
+        }
+    }
+
+    private void count(String result) {
+        Counter.builder("payment.event.processed").tag("result", result).register(meterRegistry).increment();
+    }
+
+    private static String truncate(String error) {
+        if (error == null) return null;
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
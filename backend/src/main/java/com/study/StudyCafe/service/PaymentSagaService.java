@@ -0,0 +1,129 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.constant.PaymentSagaState;
+import com.study.StudyCafe.entity.PaymentSaga;
+import com.study.StudyCafe.repository.PaymentSagaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 결제 사가 상태 기록. 메서드마다 짧은 트랜잭션 하나 (게이트웨이 호출은 이 밖에서).
+ * 예약 단계에서는 예약 트랜잭션에 합류해 예약과 RESERVED 가 함께 커밋된다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentSagaService {
+
+    private final PaymentSagaRepository paymentSagaRepository;
+
+    /** 아직 결제가 확정되지 않은 단계 (게이트웨이로 다시 확인해 진행할 수 있음) */
+    public static final Set<PaymentSagaState> UNSETTLED =
+            EnumSet.of(PaymentSagaState.STARTED, PaymentSagaState.UNVERIFIED, PaymentSagaState.REJECTED);
+
+    /**
+     * 새 사가 시작. 같은 주문의 사가가 이미 있으면(중복 제출, 동시에 시작한 /verify 와 웹훅 워커 포함) empty.
+     * 동시 시작은 PK 충돌로 갈리므로 INSERT 는 자체 트랜잭션으로 (실패해도 호출한 쪽 트랜잭션을 망치지 않게)
+     */
+    public Optional<PaymentSaga> begin(String merchantUid, String impUid, String userEmail, String requestPayload) {
+        if (paymentSagaRepository.existsById(merchantUid)) return Optional.empty();
+        try {
+            return Optional.of(paymentSagaRepository.saveAndFlush(new PaymentSaga(merchantUid, impUid, userEmail, requestPayload)));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty(); // 먼저 넣은 쪽이 진행
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<PaymentSaga> find(String merchantUid) {
+        return paymentSagaRepository.findById(merchantUid);
+    }
+
+    /** 게이트웨이가 결제를 확인 → VERIFIED. 다른 쪽이 이미 진행시킨 사가면 false (예약/환불은 한 쪽만) */
+    @Transactional
+    public boolean markVerified(String merchantUid, int amount) {
+        return transition(merchantUid, UNSETTLED, saga -> {
+            saga.setAmount(amount);
+            saga.setState(PaymentSagaState.VERIFIED);
+        });
+    }
+
+    /** 게이트웨이에 닿지 못했거나 아직 결제 전 → 나중에 다시 확인. 이미 확정된 사가면 false */
+    @Transactional
+    public boolean markUnverified(String merchantUid, String reason) {
+        return transition(merchantUid, EnumSet.of(PaymentSagaState.STARTED, PaymentSagaState.UNVERIFIED), saga -> {
+            saga.setState(PaymentSagaState.UNVERIFIED);
+            saga.setFailureReason(truncate(reason));
+        });
+    }
+
+    /** 예약 커밋과 함께 VERIFIED → RESERVED. 그 사이 환불로 넘어간 사가면 false (예약을 롤백해야 함) */
+    @Transactional
+    public boolean markReserved(String merchantUid) {
+        return transition(merchantUid, EnumSet.of(PaymentSagaState.VERIFIED),
+                saga -> saga.setState(PaymentSagaState.RESERVED));
+    }
+
+    /** 게이트웨이가 미결제/취소를 확정 → REJECTED. 이미 결제 확인된 사가면 false */
+    @Transactional
+    public boolean markRejected(String merchantUid, String reason) {
+        return transition(merchantUid, UNSETTLED, saga -> {
+            saga.setState(PaymentSagaState.REJECTED);
+            saga.setFailureReason(truncate(reason));
+        });
+    }
+
+    /** 환불 단계로. 이미 예약됐거나 환불이 끝난 사가면 false (환불하지 않는다) */
+    @Transactional
+    public boolean markCompensating(String merchantUid, String reason) {
+        return transition(merchantUid, EnumSet.of(PaymentSagaState.VERIFIED, PaymentSagaState.COMPENSATING,
+                PaymentSagaState.REFUND_FAILED), saga -> {
+            saga.setState(PaymentSagaState.COMPENSATING);
+            saga.setFailureReason(truncate(reason));
+        });
+    }
+
+    /** 환불 시도 결과 기록. 이미 다른 쪽이 환불을 끝낸 사가면 false */
+    @Transactional
+    public boolean recordRefund(String merchantUid, boolean refunded) {
+        return transition(merchantUid, EnumSet.of(PaymentSagaState.COMPENSATING, PaymentSagaState.REFUND_FAILED), saga -> {
+            saga.setRefundAttempts(saga.getRefundAttempts() + 1);
+            saga.setState(refunded ? PaymentSagaState.REFUNDED : PaymentSagaState.REFUND_FAILED);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<PaymentSaga> findStale(Collection<PaymentSagaState> states, LocalDateTime before, int maxAttempts) {
+        return paymentSagaRepository.findAllByStateInAndUpdatedAtBeforeAndRefundAttemptsLessThan(states, before, maxAttempts);
+    }
+
+    /** 결제 확인 재시도 대상: before 이후 변경이 없고 since 이후 시작된 STARTED(확인 도중 멈춤)/UNVERIFIED 사가 */
+    @Transactional(readOnly = true)
+    public List<PaymentSaga> findUnverified(LocalDateTime before, LocalDateTime since) {
+        return paymentSagaRepository.findAllByStateInAndUpdatedAtBeforeAndCreatedAtAfter(
+                List.of(PaymentSagaState.STARTED, PaymentSagaState.UNVERIFIED), before, since);
+    }
+
+    // 잠근 행의 현재 상태가 from 중 하나일 때만 change 적용
+    private boolean transition(String merchantUid, Set<PaymentSagaState> from, Consumer<PaymentSaga> change) {
+        PaymentSaga saga = paymentSagaRepository.findByIdForUpdate(merchantUid)
+                .orElseThrow(() -> new IllegalStateException("결제 사가가 없습니다. merchantUid=" + merchantUid));
+        if (!from.contains(saga.getState())) return false;
+        change.accept(saga);
+        return true;
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null) return null;
+        return reason.length() <= 500 ? reason : reason.substring(0, 500);
+    }
+}
@@ -1,11 +1,14 @@
 package com.study.StudyCafe.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.StudyCafe.constant.PaymentSagaState;
 import com.study.StudyCafe.constant.PaymentStatus;
 import com.study.StudyCafe.dto.payment.PaymentDetailDto;
 import com.study.StudyCafe.dto.payment.PaymentRequestDto;
 import com.study.StudyCafe.entity.Payment;
+import com.study.StudyCafe.entity.PaymentSaga;
 import com.study.StudyCafe.entity.Seat;
 import com.study.StudyCafe.entity.StudyZone;
 import com.study.StudyCafe.entity.User;
@@ -15,20 +18,18 @@ import com.study.StudyCafe.repository.StudyZoneRepository;
 import com.study.StudyCafe.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
+import java.io.IOException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -40,141 +41,286 @@ public class PaymentService {
     private final ReservationService reservationService;
     private final SeatRepository seatRepository;
     private final StudyZoneRepository studyZoneRepository;
+    private final IamportTokenManager iamportTokenManager;
+    private final IamportClient iamportClient;
+    private final PaymentSagaService paymentSagaService;
+    private final SeatCommandService seatCommandService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
     private final int PRICE_PER_MINUTE = 10; // 분당 단가 (예: 2원/분)
 
-    @Transactional
-    public boolean verifyAndReserve(PaymentRequestDto dto) {
-        try {
-            String impUid = dto.getImpUid();
-            String merchantUid = dto.getMerchantUid();
-            StudyZone studyZone = studyZoneRepository.findByZoneName(dto.getZoneName())
-                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 zoneName입니다: " + dto.getZoneName()));
+    @Value("${payment.saga.max-refund-attempts:5}")
+    private int maxRefundAttempts;
 
-            User user = userRepository.findByEmail(dto.getUserId())
-                    .orElseThrow(() -> new IllegalArgumentException("이메일에 해당하는 사용자를 찾을 수 없습니다."));
+    @Value("${payment.saga.max-pending-hours:72}")
+    private long maxPendingHours;
 
-            // 1. 아임포트 토큰 발급
-            String accessToken = requestAccessToken();
+    /**
+     * 결제 확정 사가 시작. 같은 merchantUid 로 다시 들어오면 처리하지 않고 기존 사가 상태만 돌려준다
+     * (확인이 보류된 UNVERIFIED 주문이면 이번에 다시 확인).
+     */
+    public PaymentSagaState verifyAndReserve(PaymentRequestDto dto) {
+        String merchantUid = dto.getMerchantUid();
+        Optional<PaymentSaga> begun = paymentSagaService.begin(merchantUid, dto.getImpUid(), dto.getUserId(), toJson(dto));
+        if (begun.isPresent()) return settle(begun.get());
 
-            // 2. 결제 내역 조회
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.iamport.kr/payments/" + impUid))
-                    .header("Authorization", accessToken)
-                    .GET()
-                    .build();
+        PaymentSaga saga = paymentSagaService.find(merchantUid)
+                .orElseThrow(() -> new IllegalStateException("결제 사가가 없습니다. merchantUid=" + merchantUid));
+        return saga.getState() == PaymentSagaState.UNVERIFIED ? settle(saga) : saga.getState();
+    }
 
-            HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
-            JsonNode root = new ObjectMapper().readTree(response.body());
+    /**
+     * 결제가 확정되지 않은 사가(STARTED/UNVERIFIED/REJECTED)를 게이트웨이와 다시 맞춰본다.
+     * 늦게 온 paid 웹훅이 쓴다. 이미 진행된 사가는 현재 상태만 돌려준다.
+     */
+    public PaymentSagaState reconcile(String merchantUid) {
+        PaymentSaga saga = paymentSagaService.find(merchantUid)
+                .orElseThrow(() -> new IllegalStateException("결제 사가가 없습니다. merchantUid=" + merchantUid));
+        return PaymentSagaService.UNSETTLED.contains(saga.getState()) ? settle(saga) : saga.getState();
+    }
 
-            boolean success = root.path("response").path("status").asText().equals("paid");
-            int paidAmount = root.path("response").path("amount").asInt();
+    /**
+     * 사가 진행: (1) 트랜잭션 밖에서 게이트웨이 확인 → (2) 짧은 트랜잭션으로 결제 저장 + 예약 커밋
+     * → (3) 2 가 실패하면 자동 환불. 단계마다 payment_saga 에 상태를 남긴다.
+     * 게이트웨이에 닿지 못했거나 아직 결제 전(가상계좌 ready 등)이면 UNVERIFIED 로 두고 나중에 다시 확인하며,
+     * REJECTED 는 게이트웨이가 미결제/취소를 확정한 경우만. 예약 요청이 없는 사가(웹훅만 온 주문)는 확인 후 환불.
+     */
+    private PaymentSagaState settle(PaymentSaga saga) {
+        String merchantUid = saga.getMerchantUid();
+        String impUid = saga.getImpUid();
+        if (impUid == null || impUid.isBlank()) return rejected(merchantUid, "imp_uid 없음");
+
+        // 1. 게이트웨이 확인 (DB 커넥션을 잡지 않은 상태)
+        JsonNode payment;
+        try {
+            payment = lookup(impUid);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return unverified(merchantUid, "결제 조회 중단");
+        } catch (Exception e) {
+            log.warn("[PaymentSaga] 결제 조회 실패, 나중에 다시 확인 merchantUid={}: {}", merchantUid, e.getMessage());
+            return unverified(merchantUid, "결제 조회 실패: " + e.getMessage());
+        }
+        String status = payment == null ? "not_found" : payment.path("status").asText();
+        switch (status) {
+            case "paid" -> { }
+            case "failed", "cancelled", "not_found" -> {
+                return rejected(merchantUid, "게이트웨이 결제 상태: " + status);
+            }
+            default -> {
+                return unverified(merchantUid, "게이트웨이 결제 상태: " + status); // ready 등 아직 결제 전
+            }
+        }
+        if (!merchantUid.equals(payment.path("merchant_uid").asText())) {
+            // 다른 주문의 imp_uid → 이 주문의 결제로 인정하지도, 환불하지도 않는다
+            return rejected(merchantUid, "다른 주문의 결제: imp_uid=" + impUid);
+        }
+        int paidAmount = payment.path("amount").asInt();
+        if (!paymentSagaService.markVerified(merchantUid, paidAmount)) {
+            return currentState(merchantUid); // 다른 스레드/인스턴스가 이미 진행
+        }
 
+        PaymentRequestDto dto = fromJson(saga.getRequestPayload());
+        if (dto == null) {
+            if (paymentSagaService.markCompensating(merchantUid, "예약 요청 없이 결제 완료")) refund(merchantUid, impUid);
+            return currentState(merchantUid);
+        }
 
-            if (!success) {
-                return false;
-            }
+        // 2. 결제 저장 + 예약을 한 트랜잭션으로 (RESERVED 도 함께 커밋, 낙관 모드 충돌이면 트랜잭션째 재시도)
+        try {
+            seatCommandService.reservePaid(dto.getSeatIds(), () -> reserve(dto, paidAmount));
+            return PaymentSagaState.RESERVED;
+        } catch (Exception e) {
+            // 3. 보상: 결제는 됐는데 예약이 커밋되지 않음 → 자동 환불
+            log.warn("[PaymentSaga] 예약 실패, 환불 진행 merchantUid={}: {}", merchantUid, e.getMessage());
+            if (paymentSagaService.markCompensating(merchantUid, e.getMessage())) refund(merchantUid, impUid);
+            return currentState(merchantUid);
+        }
+    }
 
-            // 3. 금액 검증
-            LocalDateTime start = LocalDateTime.parse(dto.getStartTime());
-            LocalDateTime end = LocalDateTime.parse(dto.getEndTime());
-            long minutes = Duration.between(start, end).toMinutes();
+    /**
+     * 웹훅 본문 확인용 게이트웨이 조회: impUid 결제가 merchantUid 주문의 것이면 그 상태(paid, ready, ...), 아니면 empty.
+     * 조회 자체가 실패하면 예외 (호출한 쪽이 재시도).
+     */
+    public Optional<String> gatewayStatus(String merchantUid, String impUid) throws IOException, InterruptedException {
+        JsonNode payment = lookup(impUid);
+        if (payment == null || !merchantUid.equals(payment.path("merchant_uid").asText())) return Optional.empty();
+        return Optional.of(payment.path("status").asText());
+    }
 
-            int expectedAmount = (int) (dto.getSeatIds().size() * minutes * PRICE_PER_MINUTE);
+    // 게이트웨이 결제 조회. 결제가 없으면(404) null, 그 밖의 실패(전송 오류/5xx/인증)는 예외 → 나중에 다시 확인
+    private JsonNode lookup(String impUid) throws IOException, InterruptedException {
+        IamportClient.Response response = iamportTokenManager.call(token -> iamportClient.getPayment(token, impUid));
+        if (response.status() == 404) return null;
+        if (response.status() != 200) throw new IOException("아임포트 응답 " + response.status());
+        return response.response();
+    }
 
-            if (Math.abs(paidAmount - expectedAmount) > 10) {
-                return false;
-            }
+    private PaymentSagaState unverified(String merchantUid, String reason) {
+        return paymentSagaService.markUnverified(merchantUid, reason) ? PaymentSagaState.UNVERIFIED : currentState(merchantUid);
+    }
 
-            List<Long> seatIds = dto.getSeatIds(); // 👈 seatIds 직접 사용
+    private PaymentSagaState rejected(String merchantUid, String reason) {
+        return paymentSagaService.markRejected(merchantUid, reason) ? PaymentSagaState.REJECTED : currentState(merchantUid);
+    }
 
-            // 4. seatNames 가져오기 (저장용으로만 사용)
-            List<Seat> seats = seatRepository.findAllById(seatIds);
-            String seatNamesStr = seats.stream().map(Seat::getSeatName).toList().toString();
+    private PaymentSagaState currentState(String merchantUid) {
+        return paymentSagaService.find(merchantUid).map(PaymentSaga::getState).orElse(PaymentSagaState.STARTED);
+    }
 
-            // 5. 결제 정보 저장
-            Payment payment = new Payment();
-            payment.setImpUid(impUid);
-            payment.setMerchantUid(merchantUid);
-            payment.setAmount(paidAmount);
-            payment.setUser(user);
-            payment.setStatus(PaymentStatus.PAID);
-            payment.setStartTime(start);
-            payment.setEndTime(end);
-            payment.setSeatNames(seatNamesStr); // 👈 단순 저장용
-            payment.setTotalMinutes((int) minutes);
-            payment.setStudyName(studyZone);
-            paymentRepository.save(payment);
-            paymentRepository.flush();
+    private void reserve(PaymentRequestDto dto, int paidAmount) {
+        StudyZone studyZone = studyZoneRepository.findByZoneName(dto.getZoneName())
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 zoneName입니다: " + dto.getZoneName()));
 
-            // 6. 예약 처리
-            reservationService.reserveSeats(seatIds, user.getId(), start, end, payment);
+        User user = userRepository.findByEmail(dto.getUserId())
+                .orElseThrow(() -> new IllegalArgumentException("이메일에 해당하는 사용자를 찾을 수 없습니다."));
 
-            return true;
+        // 금액 검증
+        LocalDateTime start = LocalDateTime.parse(dto.getStartTime());
+        LocalDateTime end = LocalDateTime.parse(dto.getEndTime());
+        long minutes = Duration.between(start, end).toMinutes();
 
-        } catch (Exception e) {
-            return false;
+        int expectedAmount = (int) (dto.getSeatIds().size() * minutes * PRICE_PER_MINUTE);
+
+        if (Math.abs(paidAmount - expectedAmount) > 10) {
+            throw new IllegalArgumentException("결제 금액 불일치: paid=" + paidAmount + ", expected=" + expectedAmount);
+        }
+
+        List<Long> seatIds = dto.getSeatIds(); // 👈 seatIds 직접 사용
+
+        // seatNames 가져오기 (저장용으로만 사용)
+        List<Seat> seats = seatRepository.findAllById(seatIds);
+        String seatNamesStr = seats.stream().map(Seat::getSeatName).toList().toString();
+
+        // 결제 정보 저장
+        Payment payment = new Payment();
+        payment.setImpUid(dto.getImpUid());
+        payment.setMerchantUid(dto.getMerchantUid());
+        payment.setAmount(paidAmount);
+        payment.setUser(user);
+        payment.setStatus(PaymentStatus.PAID);
+        payment.setStartTime(start);
+        payment.setEndTime(end);
+        payment.setSeatNames(seatNamesStr); // 👈 단순 저장용
+        payment.setTotalMinutes((int) minutes);
+        payment.setStudyName(studyZone);
+        paymentRepository.save(payment);
+        paymentRepository.flush();
+
+        // 예약 처리 (충돌이면 예외 → 전체 롤백)
+        reservationService.reserveSeats(seatIds, user.getId(), start, end, payment);
+        // 그 사이 재시도 스케줄러가 환불로 넘겼으면 예약을 롤백 (환불된 결제 위에 예약이 커밋되지 않게)
+        if (!paymentSagaService.markReserved(dto.getMerchantUid())) {
+            throw new IllegalStateException("사가가 더 이상 예약 단계가 아닙니다. merchantUid=" + dto.getMerchantUid());
         }
     }
 
-    private String requestAccessToken() throws Exception {
-        HttpClient client = HttpClient.newHttpClient();
-        String body = "imp_key=7251445755405710&imp_secret=uZbHJBrDF307TXxASqqljRkXokcOlmelhlbTUGlx1zQ87haLvH5i1YhOxHmQM2wGVGuNbdQ2rJdgREyx"; // 실제 키로 교체
+    /**
+     * 웹훅으로 결제 완료는 왔지만 예약 요청(좌석/시간)이 끝내 들어오지 않은 주문 환불.
+     * 게이트웨이가 impUid 를 이 주문의 paid 결제로 확인해 준 경우에만 환불한다 (settle 에서 다시 확인).
+     * 이미 사가가 있으면(확인 보류/거절 뒤 늦게 결제된 경우 포함) 그 사가를 이어서 확인한다.
+     */
+    public PaymentSagaState refundOrphan(String merchantUid, String impUid) {
+        return paymentSagaService.begin(merchantUid, impUid, null, null)
+                .map(this::settle)
+                .orElseGet(() -> reconcile(merchantUid));
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create("https://api.iamport.kr/users/getToken"))
-                .header("Content-Type", "application/x-www-form-urlencoded")
-                .POST(HttpRequest.BodyPublishers.ofString(body))
-                .build();
+    // 보상 환불. 게이트웨이가 취소를 확인하지 못하면 REFUND_FAILED 로 두고 스케줄러가 다시 시도
+    private void refund(String merchantUid, String impUid) {
+        boolean refunded = false;
+        try {
+            IamportClient.Response response = iamportTokenManager.call(
+                    token -> iamportClient.cancelPayment(token, impUid, "좌석 예약 실패 자동 환불"));
+            refunded = response.response().path("status").asText().equalsIgnoreCase("cancelled");
+            if (!refunded) {
+                // 이전 시도에서 이미 취소됐을 수 있음
+                refunded = iamportTokenManager.call(token -> iamportClient.getPayment(token, impUid)).response()
+                        .path("status").asText().equalsIgnoreCase("cancelled");
+            }
+        } catch (Exception e) {
+            log.error("[PaymentSaga] 환불 호출 실패 merchantUid={}", merchantUid, e);
+        }
+        if (!paymentSagaService.recordRefund(merchantUid, refunded)) return; // 다른 쪽이 이미 환불을 마침
+        if (!refunded) log.error("[PaymentSaga] 환불 미확인, 재시도 예정 merchantUid={}", merchantUid);
+    }
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+    /** 환불 재시도: 환불 실패/중단된 사가와, 검증 후 예약 결과 없이 멈춘(서버 중단 등) 사가 */
+    @Scheduled(fixedDelayString = "${payment.saga.retry-interval-ms:60000}", initialDelay = 60_000)
+    public void retryRefunds() {
+        LocalDateTime before = LocalDateTime.now().minusMinutes(2);
+        for (PaymentSaga saga : paymentSagaService.findStale(
+                List.of(PaymentSagaState.VERIFIED, PaymentSagaState.COMPENSATING, PaymentSagaState.REFUND_FAILED),
+                before, maxRefundAttempts)) {
+            // 잠근 행의 상태를 다시 확인: 그 사이 예약이 커밋됐거나 다른 쪽이 환불을 끝냈으면 건너뜀
+            String reason = saga.getState() == PaymentSagaState.VERIFIED ? "예약 단계 중단" : saga.getFailureReason();
+            if (!paymentSagaService.markCompensating(saga.getMerchantUid(), reason)) continue;
+            refund(saga.getMerchantUid(), saga.getImpUid());
+        }
+    }
+
+    /**
+     * 결제 확인 재시도: UNVERIFIED 와 확인 도중 멈춘 STARTED 사가를 게이트웨이와 다시 맞춰 예약 또는 환불.
+     * 시작 후 max-pending-hours 가 지난 사가는 더 조회하지 않는다 (그 뒤에 결제되면 paid 웹훅이 이어서 처리).
+     */
+    @Scheduled(fixedDelayString = "${payment.saga.retry-interval-ms:60000}", initialDelay = 60_000)
+    public void retryUnverified() {
+        LocalDateTime now = LocalDateTime.now();
+        for (PaymentSaga saga : paymentSagaService.findUnverified(now.minusMinutes(2), now.minusHours(maxPendingHours))) {
+            try {
+                settle(saga);
+            } catch (RuntimeException e) {
+                log.error("[PaymentSaga] 결제 확인 재시도 실패 merchantUid={}", saga.getMerchantUid(), e);
+            }
+        }
+    }
 
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode jsonNode = mapper.readTree(response.body());
+    private String toJson(PaymentRequestDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("예약 요청 직렬화 실패", e);
+        }
+    }
 
-        return jsonNode.path("response").path("access_token").asText();
+    private PaymentRequestDto fromJson(String payload) {
+        if (payload == null) return null;
+        try {
+            return objectMapper.readValue(payload, PaymentRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("예약 요청 역직렬화 실패", e);
+        }
     }
+
+    @Transactional(readOnly = true)
     public PaymentDetailDto getPaymentDetail(String merchantUid) {
         Payment payment = paymentRepository.findByMerchantUid(merchantUid)
                 .orElseThrow(() -> new IllegalArgumentException("해당 주문이 존재하지 않습니다."));
 
         return convertToDto(payment);
     }
+    @Transactional(readOnly = true)
     public List<PaymentDetailDto> getPaymentsByUser(Long userId) {
         return paymentRepository.findByUserId(userId).stream()
                 .map(this::convertToDto)
                 .toList();
     }
-    @Transactional
+    // 게이트웨이 호출은 트랜잭션 밖, 상태 변경만 짧은 트랜잭션
     public boolean cancelPayment(String impUid, String reason) {
         try {
-            String accessToken = requestAccessToken();
-
-            Map<String, Object> body = new HashMap<>();
-            body.put("imp_uid", impUid);
-            body.put("reason", reason);
+            IamportClient.Response response = iamportTokenManager.call(token -> iamportClient.cancelPayment(token, impUid, reason));
 
-            ObjectMapper mapper = new ObjectMapper();
-            String jsonBody = mapper.writeValueAsString(body);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.iamport.kr/payments/cancel"))
-                    .header("Authorization", accessToken)
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
-                    .build();
-
-            HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
-            JsonNode root = mapper.readTree(response.body());
-
-            boolean isCancelled = root.path("response").path("status").asText().equalsIgnoreCase("cancelled");
+            boolean isCancelled = response.response().path("status").asText().equalsIgnoreCase("cancelled");
 
             if (isCancelled) {
-                Payment payment = paymentRepository.findByImpUid(impUid)
-                        .orElseThrow(() -> new RuntimeException("결제 내역 없음"));
-                payment.setStatus(PaymentStatus.CANCEL);
-                paymentRepository.save(payment);
+                transactionTemplate.executeWithoutResult(tx -> {
+                    Payment payment = paymentRepository.findByImpUid(impUid)
+                            .orElseThrow(() -> new RuntimeException("결제 내역 없음"));
+                    payment.setStatus(PaymentStatus.CANCEL);
+                    paymentRepository.save(payment);
+                });
             }
 
             return isCancelled;
@@ -205,35 +351,24 @@ public class PaymentService {
         return dto;
     }
 
-    @Transactional
+    // 게이트웨이 호출은 트랜잭션 밖, 결제/예약 상태 변경만 한 트랜잭션
     public boolean cancelPaymentByImpUid(String impUid, String reason) {
         try {
-            String accessToken = requestAccessToken(); // 아임포트 토큰 요청
-
-            // 아임포트 환불 API 호출
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.iamport.kr/payments/cancel"))
-                    .header("Authorization", accessToken)
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(
-                            String.format("{\"imp_uid\":\"%s\", \"reason\":\"%s\"}", impUid, reason)
-                    ))
-                    .build();
-
-            HttpClient client = HttpClient.newHttpClient();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                Payment payment = paymentRepository.findByImpUid(impUid)
-                        .orElseThrow(() -> new RuntimeException("결제 정보가 없습니다."));
+            // 아임포트 환불 API 호출 (토큰은 캐시, 401 이면 새 토큰으로 한 번 재시도)
+            IamportClient.Response response = iamportTokenManager.call(token -> iamportClient.cancelPayment(token, impUid, reason));
 
-                // 결제 상태 업데이트
-                payment.setStatus(PaymentStatus.CANCEL);
-                paymentRepository.save(payment);
+            if (response.status() == 200) {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    Payment payment = paymentRepository.findByImpUid(impUid)
+                            .orElseThrow(() -> new RuntimeException("결제 정보가 없습니다."));
 
-                // 예약 정보 상태도 변경
-                reservationService.cancelReservationsByPayment(payment);
+                    // 결제 상태 업데이트
+                    payment.setStatus(PaymentStatus.CANCEL);
+                    paymentRepository.save(payment);
 
+                    // 예약 정보 상태도 변경
+                    reservationService.cancelReservationsByPayment(payment);
+                });
                 return true;
             }
         } catch (Exception e) {
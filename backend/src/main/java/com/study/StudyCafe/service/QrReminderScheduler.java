@@ -40,7 +40,7 @@ public class QrReminderScheduler {
         LocalDateTime now = LocalDateTime.now();
 
         List<Reservation> reservations = reservationRepository
-                .findByStartTimeAfterAndIsNotifiedFalseAndStatus(now, ReservationStatus.RESERVED);
+                .findByStartTimeBetweenAndIsNotifiedFalseAndStatus(now, now.plusMinutes(30), ReservationStatus.RESERVED);
 
         log.info("[QR 스케줄러] {} 기준 예약 {}건 조회됨", now, reservations.size());
 
@@ -0,0 +1,314 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.repository.ReservationRepository;
+import com.study.StudyCafe.repository.SeatRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 홀드 저장소. 시간대별 키 seat-hold:{zoneId}:{seatId}:{startEpoch}:{endEpoch} = "userId|startEpoch|endEpoch",
+ * TTL = 홀드 유효 시간. 좌석마다 색인 세트 seat-holds:{zoneId}:{seatId} 에 "{startEpoch}:{endEpoch}" 를 모아 두고
+ * 겹침 검사는 이 세트만 훑는다 (db 저장소의 seat_hold 처럼 같은 좌석의 겹치지 않는 시간대 홀드가 공존).
+ * 획득/해제는 Lua 스크립트 하나로 원자 처리되어 DB 행 락을 잡지 않는다.
+ * 만료는 RedisHoldExpiryListener 가 keyspace 알림(expired)으로 받아 처리하고, 만료된 세트 원소는 다음 스크립트가 정리한다.
+ * Redis Cluster 는 지원하지 않는다: 스크립트가 시간대 키를 KEYS 로 받지 않고 색인 세트 원소(SMEMBERS)로 만들어 접근하고,
+ * 여러 좌석·존의 색인을 한 스크립트에서 다루며, keyspace 알림도 노드마다 따로 온다. 기동 시 단일(standalone) Redis 인지 확인한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "seat.hold.store", havingValue = "redis")
+public class RedisSeatHoldStore implements SeatHoldStore {
+
+    public static final String KEY_PREFIX = "seat-hold:";
+    public static final String INDEX_PREFIX = "seat-holds:";
+
+    // 스크립트 공통 함수. overlaps: 다른 사용자의 겹치는 홀드가 있으면 'OTHER', 본인의 겹치는 홀드가 있으면 (키, 값), 없으면 nil
+    // put: 새 시간대 키 설정 + 색인 등록. 색인 TTL 은 마지막 홀드 TTL 로 갱신 (홀드 TTL 이 모두 같아 가장 늦게 만료되는 홀드와 같음)
+    private static final String LUA_FUNCTIONS = """
+            local function base(idx)
+              return 'seat-hold:' .. string.sub(idx, 12) .. ':'
+            end
+            local function overlaps(idx, uid, from, to)
+              local b = base(idx)
+              local own, ownVal = nil, nil
+              for _, m in ipairs(redis.call('SMEMBERS', idx)) do
+                local cur = redis.call('GET', b .. m)
+                if not cur then
+                  redis.call('SREM', idx, m)
+                else
+                  local u, s, e = string.match(cur, '^([^|]+)|(%d+)|(%d+)$')
+                  if tonumber(s) < tonumber(to) and tonumber(e) > tonumber(from) then
+                    if u ~= uid then return 'OTHER' end
+                    if not own then own, ownVal = b .. m, cur end
+                  end
+                end
+              end
+              return own, ownVal
+            end
+            local function put(idx, uid, from, to, ttl)
+              local m = from .. ':' .. to
+              local v = uid .. '|' .. from .. '|' .. to
+              redis.call('SET', base(idx) .. m, v, 'PX', ttl)
+              redis.call('SADD', idx, m)
+              redis.call('PEXPIRE', idx, ttl)
+              return v
+            end
+            """;
+
+    // 같은 사용자의 겹치는 홀드는 TTL 만 연장, 다른 사용자의 겹치는 홀드는 거절(빈 문자열), 그 외 새 시간대 키
+    private static final RedisScript<String> HOLD_SCRIPT = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            local own, cur = overlaps(KEYS[1], ARGV[1], ARGV[2], ARGV[3])
+            if own == 'OTHER' then return '' end
+            if own then
+              redis.call('PEXPIRE', own, ARGV[4])
+              redis.call('PEXPIRE', KEYS[1], ARGV[4])
+              return cur
+            end
+            return put(KEYS[1], ARGV[1], ARGV[2], ARGV[3], ARGV[4])
+            """, String.class);
+
+    // 여러 좌석(KEYS = 색인): 먼저 전부 검사하고 하나라도 다른 사용자 홀드와 겹치면 빈 목록, 아니면 전부 설정
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> HOLD_ALL_SCRIPT = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            for _, k in ipairs(KEYS) do
+              if overlaps(k, ARGV[1], ARGV[2], ARGV[3]) == 'OTHER' then return {} end
+            end
+            local out = {}
+            for i, k in ipairs(KEYS) do
+              local own, cur = overlaps(k, ARGV[1], ARGV[2], ARGV[3])
+              if own then
+                redis.call('PEXPIRE', own, ARGV[4])
+                redis.call('PEXPIRE', k, ARGV[4])
+                out[i] = cur
+              else
+                out[i] = put(k, ARGV[1], ARGV[2], ARGV[3], ARGV[4])
+              end
+            end
+            return out
+            """, List.class);
+
+    // 좌석의 본인 홀드(모든 시간대) 삭제 후 이전 값 목록 반환. 지운 게 없고 다른 사용자 홀드만 있으면 {'OTHER'}
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RELEASE_SCRIPT = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            local b = base(KEYS[1])
+            local out, other = {}, false
+            for _, m in ipairs(redis.call('SMEMBERS', KEYS[1])) do
+              local cur = redis.call('GET', b .. m)
+              if not cur then
+                redis.call('SREM', KEYS[1], m)
+              elseif string.match(cur, '^([^|]+)|') == ARGV[1] then
+                redis.call('DEL', b .. m)
+                redis.call('SREM', KEYS[1], m)
+                out[#out + 1] = cur
+              else
+                other = true
+              end
+            end
+            if #out == 0 and other then return {'OTHER'} end
+            return out
+            """, List.class);
+
+    // 좌석별(KEYS = 색인) 다른 사용자의 겹치는 홀드 여부 1/0
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> HELD_BY_OTHERS_SCRIPT = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            local out = {}
+            for i, k in ipairs(KEYS) do
+              out[i] = overlaps(k, ARGV[1], ARGV[2], ARGV[3]) == 'OTHER' and 1 or 0
+            end
+            return out
+            """, List.class);
+
+    // 예약 확정 후 정리: 좌석마다 본인 홀드이고 예약 구간과 겹칠 때만 삭제 (커밋 뒤 다시 잡힌 다른 홀드는 남김). 삭제 수 반환
+    private static final RedisScript<Long> CLEAR_SCRIPT = new DefaultRedisScript<>(LUA_FUNCTIONS + """
+            local n = 0
+            for _, k in ipairs(KEYS) do
+              local b = base(k)
+              for _, m in ipairs(redis.call('SMEMBERS', k)) do
+                local cur = redis.call('GET', b .. m)
+                if not cur then
+                  redis.call('SREM', k, m)
+                else
+                  local uid, s, e = string.match(cur, '^([^|]+)|(%d+)|(%d+)$')
+                  if uid == ARGV[1] and tonumber(s) < tonumber(ARGV[3]) and tonumber(e) > tonumber(ARGV[2]) then
+                    redis.call('DEL', b .. m)
+                    redis.call('SREM', k, m)
+                    n = n + 1
+                  end
+                end
+              end
+            end
+            return n
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final SeatRepository seatRepository;
+    private final ReservationRepository reservationRepository;
+
+    // ✅ 클러스터 모드 Redis 면 기동 실패 (스크립트가 KEYS 밖의 키를 만들어 접근 → 슬롯이 갈리면 잘못 동작)
+    @PostConstruct
+    void verifyStandalone() {
+        Properties info = redisStringTemplate.execute(
+                (RedisCallback<Properties>) connection -> connection.serverCommands().info("cluster"));
+        if (info != null && "1".equals(info.getProperty("cluster_enabled"))) {
+            throw new IllegalStateException("seat.hold.store=redis 는 단일(standalone) Redis 만 지원합니다 (cluster_enabled=1).");
+        }
+    }
+
+    @Override
+    public SeatHoldSnapshot hold(Long seatId, Long userId, LocalDateTime start, LocalDateTime end) {
+        Long zoneId = seatRepository.findZoneIdById(seatId)
+                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
+
+        if (reservationRepository.existsBySeatIdAndTimeOverlap(seatId, start, end)) {
+            throw new IllegalStateException("해당 시간대에 이미 예약이 있습니다.");
+        }
+
+        long ttlMs = TimeUnit.MINUTES.toMillis(HOLD_MINUTES);
+        String value = redisStringTemplate.execute(HOLD_SCRIPT, List.of(indexKey(zoneId, seatId)),
+                String.valueOf(userId), String.valueOf(epoch(start)), String.valueOf(epoch(end)),
+                String.valueOf(ttlMs));
+        if (value == null || value.isEmpty()) {
+            throw new IllegalStateException("다른 사용자가 해당 시간대를 예약 중입니다.");
+        }
+        return parse(zoneId, seatId, value, ttlMs);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SeatHoldSnapshot> holdAll(Long zoneId, List<Long> seatIds, Long userId,
+                                          LocalDateTime start, LocalDateTime end) {
+        List<Long> ordered = seatIds.stream().distinct().sorted().toList();
+        if (!reservationRepository.findOverlappingSeatIds(ordered, start, end).isEmpty()) {
+            throw new IllegalStateException("해당 시간대에 이미 예약이 있습니다.");
+        }
+
+        long ttlMs = TimeUnit.MINUTES.toMillis(HOLD_MINUTES);
+        List<String> keys = ordered.stream().map(id -> indexKey(zoneId, id)).toList();
+        List<Object> values = redisStringTemplate.execute(HOLD_ALL_SCRIPT, keys,
+                String.valueOf(userId), String.valueOf(epoch(start)), String.valueOf(epoch(end)),
+                String.valueOf(ttlMs));
+        if (values == null || values.size() != ordered.size()) {
+            throw new IllegalStateException("다른 사용자가 해당 시간대를 예약 중입니다.");
+        }
+
+        List<SeatHoldSnapshot> holds = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            holds.add(parse(zoneId, ordered.get(i), String.valueOf(values.get(i)), ttlMs));
+        }
+        return holds;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SeatHoldSnapshot> release(Long seatId, Long userId) {
+        Long zoneId = seatRepository.findZoneIdById(seatId)
+                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
+
+        List<Object> values = redisStringTemplate.execute(RELEASE_SCRIPT, List.of(indexKey(zoneId, seatId)),
+                String.valueOf(userId));
+        if (values == null || values.isEmpty()) return List.of();
+        if (values.size() == 1 && "OTHER".equals(String.valueOf(values.get(0)))) {
+            throw new IllegalStateException("본인이 홀드한 좌석만 취소할 수 있습니다.");
+        }
+        return values.stream().map(v -> parse(zoneId, seatId, String.valueOf(v), 0)).toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Long> heldByOthers(Map<Long, Long> zoneBySeat, Long userId, LocalDateTime start, LocalDateTime end) {
+        if (zoneBySeat.isEmpty()) return Set.of();
+        List<Long> seatIds = List.copyOf(zoneBySeat.keySet());
+        List<Object> flags = redisStringTemplate.execute(HELD_BY_OTHERS_SCRIPT,
+                seatIds.stream().map(id -> indexKey(zoneBySeat.get(id), id)).toList(),
+                String.valueOf(userId), String.valueOf(epoch(start)), String.valueOf(epoch(end)));
+        Set<Long> held = new HashSet<>();
+        for (int i = 0; flags != null && i < seatIds.size(); i++) {
+            if (((Number) flags.get(i)).longValue() == 1L) held.add(seatIds.get(i));
+        }
+        return held;
+    }
+
+    @Override
+    public void clear(Map<Long, Long> zoneBySeat, Long userId, LocalDateTime start, LocalDateTime end) {
+        List<String> keys = zoneBySeat.entrySet().stream().map(e -> indexKey(e.getValue(), e.getKey())).toList();
+        if (keys.isEmpty()) return;
+        String uid = String.valueOf(userId);
+        String from = String.valueOf(epoch(start));
+        String to = String.valueOf(epoch(end));
+        AfterCommit.run(() -> redisStringTemplate.execute(CLEAR_SCRIPT, keys, uid, from, to));
+    }
+
+    @Override
+    public List<SeatHoldSnapshot> externalHolds(Long zoneId) {
+        return activeHolds(zoneId);
+    }
+
+    @Override
+    public List<SeatHoldSnapshot> activeHolds(Long zoneId) {
+        String pattern = KEY_PREFIX + (zoneId != null ? zoneId + ":*" : "*");
+        List<SeatHoldSnapshot> holds = new ArrayList<>();
+        try (Cursor<String> keys = redisStringTemplate.scan(ScanOptions.scanOptions().match(pattern).count(500).build())) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                Long[] ids = parseKey(key);
+                if (ids == null) continue;
+                String value = redisStringTemplate.opsForValue().get(key);
+                Long ttlMs = redisStringTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+                if (value == null || ttlMs == null || ttlMs <= 0) continue;
+                holds.add(parse(ids[0], ids[1], value, ttlMs));
+            }
+        }
+        return holds;
+    }
+
+    public static String indexKey(Long zoneId, Long seatId) {
+        return INDEX_PREFIX + zoneId + ":" + seatId;
+    }
+
+    /** seat-hold:{zoneId}:{seatId}:{startEpoch}:{endEpoch} → [zoneId, seatId, startEpoch, endEpoch], 형식이 다르면 null */
+    public static Long[] parseKey(String key) {
+        if (key == null || !key.startsWith(KEY_PREFIX)) return null;
+        String[] parts = key.substring(KEY_PREFIX.length()).split(":");
+        if (parts.length != 4) return null;
+        try {
+            return new Long[]{Long.valueOf(parts[0]), Long.valueOf(parts[1]),
+                    Long.valueOf(parts[2]), Long.valueOf(parts[3])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static LocalDateTime fromEpoch(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static SeatHoldSnapshot parse(Long zoneId, Long seatId, String value, long ttlMs) {
+        String[] parts = value.split("\\|");
+        LocalDateTime expiresAt = ttlMs > 0 ? LocalDateTime.now().plusNanos(TimeUnit.MILLISECONDS.toNanos(ttlMs)) : null;
+        return new SeatHoldSnapshot(seatId, zoneId, Long.valueOf(parts[0]),
+                fromEpoch(Long.parseLong(parts[1])),
+                fromEpoch(Long.parseLong(parts[2])),
+                expiresAt);
+    }
+
+    // LocalDateTime 을 그대로 초 단위로 (비교용이므로 시간대 변환 없음)
+    private static long epoch(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+}
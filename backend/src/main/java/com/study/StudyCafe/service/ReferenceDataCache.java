@@ -0,0 +1,144 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatLayoutRow;
+import com.study.StudyCafe.dto.seat.StudyZoneDto;
+import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.repository.StudyZoneRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 거의 바뀌지 않는 기준 데이터 캐시: 지점(StudyZone) 목록과 존별 좌석 배치(이름/좌표/태그/가격).
+ * 지점/좌석 생성·수정 경로가 커밋 후 invalidate* 를 호출하고, 다중 인스턴스 대비로 TTL 도 둔다.
+ * 적중/미스는 refdata.cache{cache,result} 카운터로 노출된다.
+ */
+@Slf4j
+@Service
+public class ReferenceDataCache {
+
+    private final StudyZoneRepository studyZoneRepository;
+    private final SeatRepository seatRepository;
+
+    private final Counter zoneHits;
+    private final Counter zoneMisses;
+    private final Counter layoutHits;
+    private final Counter layoutMisses;
+
+    @Value("${refdata.cache.ttl-ms:600000}")
+    private long ttlMs;
+
+    private volatile Entry<List<StudyZoneDto>> zones;
+    private final Map<Long, Entry<List<SeatLayoutRow>>> layouts = new ConcurrentHashMap<>();
+
+    // 적재 도중 무효화가 들어오면 적재 결과를 버리기 위한 세대 번호
+    private final AtomicLong generation = new AtomicLong();
+
+    public ReferenceDataCache(StudyZoneRepository studyZoneRepository,
+                              SeatRepository seatRepository,
+                              MeterRegistry meterRegistry) {
+        this.studyZoneRepository = studyZoneRepository;
+        this.seatRepository = seatRepository;
+        this.zoneHits = counter(meterRegistry, "zones", "hit");
+        this.zoneMisses = counter(meterRegistry, "zones", "miss");
+        this.layoutHits = counter(meterRegistry, "layout", "hit");
+        this.layoutMisses = counter(meterRegistry, "layout", "miss");
+    }
+
+    public List<StudyZoneDto> zones() {
+        Entry<List<StudyZoneDto>> e = zones;
+        if (e != null && e.isFresh(ttlMs)) {
+            zoneHits.increment();
+            return e.value;
+        }
+        zoneMisses.increment();
+        long gen = generation.get();
+        List<StudyZoneDto> loaded = studyZoneRepository.findAll().stream()
+                .map(StudyZoneDto::from)
+                .toList();
+        if (generation.get() == gen) zones = new Entry<>(loaded);
+        return loaded;
+    }
+
+    public Optional<StudyZoneDto> zone(Long zoneId) {
+        return zones().stream().filter(z -> z.getId().equals(zoneId)).findFirst();
+    }
+
+    /** 지점명 매칭 ("강남점", "강 남" → "강남") */
+    public Optional<StudyZoneDto> findZoneByName(String name) {
+        if (name == null) return Optional.empty();
+        String target = normalize(name);
+        return zones().stream()
+                .filter(z -> z.getZoneName() != null && normalize(z.getZoneName()).equals(target))
+                .findFirst();
+    }
+
+    /** 존 좌석 배치 (상태 제외). 반환 목록은 공유되므로 수정하지 않는다 */
+    public List<SeatLayoutRow> seatLayout(Long zoneId) {
+        Entry<List<SeatLayoutRow>> e = layouts.get(zoneId);
+        if (e != null && e.isFresh(ttlMs)) {
+            layoutHits.increment();
+            return e.value;
+        }
+        layoutMisses.increment();
+        long gen = generation.get();
+        List<SeatLayoutRow> loaded = List.copyOf(seatRepository.findLayoutRowsByZoneId(zoneId));
+        if (generation.get() == gen) layouts.put(zoneId, new Entry<>(loaded));
+        return loaded;
+    }
+
+    // ===== 무효화 (커밋 후) =====
+
+    public void invalidateZones() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            zones = null;
+        });
+    }
+
+    public void invalidateLayout(Long zoneId) {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            layouts.remove(zoneId);
+        });
+    }
+
+    public void invalidateAll() {
+        AfterCommit.run(() -> {
+            generation.incrementAndGet();
+            zones = null;
+            layouts.clear();
+            log.info("[RefData] 캐시 전체 무효화");
+        });
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("점$", "").replaceAll("\\s+", "").toLowerCase();
+    }
+
+    private static Counter counter(MeterRegistry registry, String cache, String result) {
+        return Counter.builder("refdata.cache")
+                .tag("cache", cache)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static class Entry<T> {
+        final T value;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(T value) {
+            this.value = value;
+        }
+
+        boolean isFresh(long ttlMs) {
+            return System.currentTimeMillis() - loadedAt < ttlMs;
+        }
+    }
+}
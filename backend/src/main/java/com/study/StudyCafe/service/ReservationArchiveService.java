@@ -0,0 +1,70 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.repository.ReservationArchiveRepository;
+import com.study.StudyCafe.repository.ReservationRepository;
+import com.study.StudyCafe.repository.ReservationSlotRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 끝난 예약을 reservations → reservations_archive 로 옮겨 hot 테이블을 작게 유지한다.
+ * keep-days 일 전 자정 이전에 끝난 예약(취소 포함)이 대상이고, batch-size 개씩 별도 트랜잭션으로
+ * 복사 → 슬롯 삭제 → 원본 삭제. 겹침 검사/알림/가용성 조회는 모두 hot 테이블만 본다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReservationArchiveService {
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationArchiveRepository reservationArchiveRepository;
+    private final ReservationSlotRepository reservationSlotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reservation.archive.keep-days:1}")
+    private int keepDays;
+
+    @Value("${reservation.archive.batch-size:5000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${reservation.archive.cron:0 30 4 * * *}")
+    public void archiveFinished() {
+        archiveBefore(LocalDate.now().minusDays(keepDays).atStartOfDay());
+    }
+
+    /** cutoff 이전에 끝난 예약을 전부 옮기고 옮긴 건수를 돌려준다 */
+    public long archiveBefore(LocalDateTime cutoff) {
+        long started = System.currentTimeMillis();
+        long total = 0;
+        int moved;
+        do {
+            Integer n = transactionTemplate.execute(tx -> archiveBatch(cutoff));
+            moved = n == null ? 0 : n;
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("[Archive] {} 이전에 끝난 예약 {}건 보관 ({}ms)", cutoff, total, System.currentTimeMillis() - started);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = reservationRepository.findFinishedIds(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) return 0;
+
+        reservationArchiveRepository.copyFromReservations(ids, LocalDateTime.now());
+        reservationSlotRepository.deleteByReservationIdIn(ids);
+        reservationRepository.deleteByIdIn(ids);
+        return ids.size();
+    }
+}
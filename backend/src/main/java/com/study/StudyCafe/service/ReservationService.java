@@ -6,12 +6,15 @@
     import com.study.StudyCafe.dto.seat.SeatEvent;
     import com.study.StudyCafe.entity.Payment;
     import com.study.StudyCafe.entity.Reservation;
+    import com.study.StudyCafe.entity.ReservationSlot;
     import com.study.StudyCafe.entity.Seat;
     import com.study.StudyCafe.entity.User;
     import com.study.StudyCafe.repository.ReservationRepository;
+    import com.study.StudyCafe.repository.ReservationSlotRepository;
     import com.study.StudyCafe.repository.SeatRepository;
     import com.study.StudyCafe.repository.UserRepository;
     import lombok.RequiredArgsConstructor;
+    import org.springframework.dao.DataIntegrityViolationException;
     import org.springframework.http.HttpStatus;
     import org.springframework.messaging.simp.SimpMessagingTemplate;
     import org.springframework.stereotype.Service;
@@ -19,42 +22,77 @@
     import org.springframework.web.server.ResponseStatusException;
 
     import java.time.LocalDateTime;
-    import java.util.List;
+    import java.util.*;
 
     @Service
     @RequiredArgsConstructor
     public class ReservationService {
 
         private final ReservationRepository reservationRepository;
+        private final ReservationSlotRepository reservationSlotRepository;
         private final SeatRepository seatRepository;
         private final UserRepository userRepository;
         private final SeatEventPublisher seatEventPublisher; // ✅ Redis 발행기
-
+        private final SeatAvailabilityIndex seatAvailabilityIndex;
+        private final ZoneVersionRegistry zoneVersionRegistry;
+        private final SeatHoldStore seatHoldStore;
+        private final SeatLockGuard seatLockGuard;
+        private final HoldQuotaService holdQuotaService;
+
+        /**
+         * 좌석 N개를 집합 단위로 예약: 겹침 검사 1회, 좌석 조회 1회, 다른 사용자 홀드 검사 1회,
+         * 예약/슬롯 INSERT 배치, 좌석 상태 UPDATE 1회, 존별 이벤트 1건. 하나라도 충돌이면 전부 롤백.
+         * 예약끼리의 최종 판정은 reservation_slot (seat_id, slot_start) 유니크 키가 한다.
+         */
         @Transactional
         public void reserveSeats(List<Long> seatIds, Long userId, LocalDateTime start, LocalDateTime end, Payment payment) {
             if (start == null || end == null || !end.isAfter(start)) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "시작/종료 시간이 올바르지 않습니다.");
             }
+            // ✅ 슬롯 경계에 맞지 않으면 바깥쪽 슬롯까지 잡아 붙어 있는 예약끼리 충돌하므로 거절
+            if (!ReservationSlot.isAligned(start) || !ReservationSlot.isAligned(end)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "예약 시간은 " + ReservationSlot.SLOT_MINUTES + "분 단위여야 합니다.");
+            }
+            if (seatIds == null || seatIds.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "seatIds는 필수입니다.");
+            }
 
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
-            for (Long seatId : seatIds) {
-                Seat seat = seatRepository.findByIdForUpdate(seatId)
-                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "좌석을 찾을 수 없습니다. id=" + seatId));
 
-                if (Seat.STATUS_HOLD.equals(seat.getStatus()) && !seat.isHoldActive()) {
-                    seat.clearHold();
-                }
+            List<Long> requested = seatIds.stream().distinct().sorted().toList();
 
-                if (reservationRepository.existsBySeatIdAndTimeOverlap(seatId, start, end)) {
-                    throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 예약된 시간과 겹치는 좌석이 있습니다. seatId=" + seatId);
-                }
+            // ✅ 빠른 실패용 겹침 검사 (락 밖). 동시에 들어온 예약은 아래 슬롯 INSERT 가 거절한다
+            List<Long> overlapping = reservationRepository.findOverlappingSeatIds(requested, start, end);
+            if (!overlapping.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 예약된 시간과 겹치는 좌석이 있습니다. seatId=" + overlapping.get(0));
+            }
 
-                if (Seat.STATUS_HOLD.equals(seat.getStatus())
-                        && (seat.getHoldUser() == null || !seat.getHoldUser().getId().equals(userId))) {
-                    throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 사용자가 예약 중인 좌석입니다. seatId=" + seatId);
+            // ✅ 예약끼리는 슬롯 유니크 키로 막으므로 좌석 행을 잠그지 않는다.
+            //    낙관 모드는 같은 좌석 홀드와의 충돌 감지를 위해 version 강제 증가를 유지
+            List<Seat> seats = seatLockGuard.isOptimistic()
+                    ? seatLockGuard.acquireAll(requested)
+                    : seatRepository.findAllByIdIn(requested);
+            Map<Long, Long> zoneBySeat = new LinkedHashMap<>();
+            seats.forEach(seat -> zoneBySeat.put(seat.getId(), seat.getZone().getId()));
+            for (Long seatId : seatIds) {
+                if (!zoneBySeat.containsKey(seatId)) {
+                    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "좌석을 찾을 수 없습니다. id=" + seatId);
                 }
+            }
+            List<Long> ids = List.copyOf(zoneBySeat.keySet());
+
+            // ✅ 같은 시간대에 다른 사용자의 유효 홀드가 있으면 거절 (다른 시간대 홀드는 무관)
+            Set<Long> heldByOthers = seatHoldStore.heldByOthers(zoneBySeat, userId, start, end);
+            if (!heldByOthers.isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "다른 사용자가 예약 중인 좌석입니다. seatId=" + heldByOthers.iterator().next());
+            }
 
+            List<Reservation> reservations = new ArrayList<>(seats.size());
+            List<ReservationSlot> slots = new ArrayList<>();
+            List<LocalDateTime> slotStarts = ReservationSlot.slotStarts(start, end);
+            for (Seat seat : seats) {
                 Reservation reservation = new Reservation();
                 reservation.setSeat(seat);
                 reservation.setStartTime(start);
@@ -62,21 +100,36 @@
                 reservation.setUser(user);
                 reservation.setPayment(payment);
                 reservation.setStatus(ReservationStatus.RESERVED);
-                reservationRepository.save(reservation);
+                reservations.add(reservation);
+                slotStarts.forEach(slotStart -> slots.add(new ReservationSlot(reservation, slotStart)));
+            }
+            reservationRepository.saveAll(reservations); // hibernate.jdbc.batch_size 단위 배치 INSERT
+            try {
+                reservationSlotRepository.saveAllAndFlush(slots);
+            } catch (DataIntegrityViolationException e) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "이미 예약된 시간과 겹치는 좌석이 있습니다.");
+            }
 
-                seat.setStatus(Seat.STATUS_RESERVED);
-                seat.clearHold();
-                seatRepository.save(seat);
+            seatRepository.updateStatusByIdIn(ids, Seat.STATUS_RESERVED);
+            seatHoldStore.clear(zoneBySeat, userId, start, end);
 
+            Map<Long, List<Long>> seatIdsByZone = new LinkedHashMap<>();
+            zoneBySeat.forEach((seatId, zoneId) -> seatIdsByZone.computeIfAbsent(zoneId, k -> new ArrayList<>()).add(seatId));
+            for (Long seatId : ids) {
+                holdQuotaService.onCleared(seatId, start, end);
+                seatAvailabilityIndex.onReserved(zoneBySeat.get(seatId), seatId, start, end);
+            }
+            seatIdsByZone.forEach((zoneId, zoneSeatIds) -> {
+                zoneVersionRegistry.record(zoneId, zoneSeatIds, Seat.STATUS_RESERVED);
                 seatEventPublisher.publishSeatEvent(new SeatEvent(
-                        List.of(seat.getId()),
+                        zoneSeatIds,
                         Seat.STATUS_RESERVED,
                         null,
                         userId,
                         "reserve",
-                        seat.getZone().getId()
+                        zoneId
                 ));
-            }
+            });
         }
 
         @Transactional
@@ -86,14 +139,19 @@
                 return;
             }
 
+            // ✅ 슬롯 반환 → 같은 시간대를 다시 예약할 수 있게
+            reservationSlotRepository.deleteByReservationIdIn(reservations.stream().map(Reservation::getId).toList());
+
             for (Reservation reservation : reservations) {
                 reservation.setStatus(ReservationStatus.CANCELED);
                 reservationRepository.save(reservation);
 
                 Seat seat = reservation.getSeat();
                 seat.setStatus(Seat.STATUS_AVAILABLE);
-                seat.clearHold();
                 seatRepository.save(seat);
+                seatAvailabilityIndex.onReservationCanceled(seat.getZone().getId(), seat.getId(),
+                        reservation.getStartTime(), reservation.getEndTime());
+                zoneVersionRegistry.record(seat.getZone().getId(), List.of(seat.getId()), Seat.STATUS_AVAILABLE);
 
                 seatEventPublisher.publishSeatEvent(new SeatEvent(
                         List.of(seat.getId()),
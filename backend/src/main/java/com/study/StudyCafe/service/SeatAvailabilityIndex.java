@@ -0,0 +1,458 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.ReservationInterval;
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.dto.seat.SeatLayoutRow;
+import com.study.StudyCafe.repository.ReservationRepository;
+import com.study.StudyCafe.repository.SeatRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 존별 좌석 점유 인덱스 (메모리).
+ * - 기동 시 seat / 홀드 저장소 / reservations 에서 워밍
+ * - SeatEvent 를 발행하는 경로(홀드/해제/예약/취소/만료)가 커밋 후 갱신
+ * - 좌석 목록 조회의 예약 겹침 / 홀드 판정을 DB 없이 처리
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatAvailabilityIndex {
+
+    private final SeatRepository seatRepository;
+    private final ReservationRepository reservationRepository;
+    private final SeatHoldStore seatHoldStore;
+
+    @Value("${seat.index.enabled:true}")
+    private boolean enabled;
+
+    private final Map<Long, ZoneState> zones = new ConcurrentHashMap<>();
+    private final Map<Long, Long> zoneBySeat = new ConcurrentHashMap<>(); // 좌석 → 존 (zoneOf 용)
+
+    // 워밍 중(스냅샷 조회 ~ putAll) 커밋된 변경을 모아 두었다가 적재 직후 순서대로 다시 반영 (null = 워밍 중 아님)
+    private final Object warmLock = new Object();
+    private List<PendingChange> warmUpBuffer;
+    private volatile boolean warming;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** 좌석 점유가 바뀐 뒤 호출 (seatId 가 null 이면 존 전체가 다시 적재됨) */
+    public interface ChangeListener {
+        void onSeatChanged(Long zoneId, Long seatId);
+    }
+
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    // ===== 워밍 / 검증 =====
+
+    // 끝난 예약도 하루 동안은 유지 (당일 지난 시간대 조회 대비)
+    private static final int RETENTION_DAYS = 1;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) return;
+        // 스냅샷 조회 전에 버퍼를 연다 → 조회와 putAll 사이에 커밋된 홀드/예약도 빠지지 않는다
+        synchronized (warmLock) {
+            warmUpBuffer = new ArrayList<>();
+            warming = true;
+        }
+        LocalDateTime from = LocalDateTime.now().minusDays(RETENTION_DAYS);
+        Map<Long, ZoneState> loaded;
+        try {
+            loaded = load(seatRepository.findAllLayoutRows(),
+                    seatHoldStore.activeHolds(null), reservationRepository.findActiveIntervals(from));
+        } catch (RuntimeException e) {
+            closeWarmUpBuffer(Map.of());
+            throw e;
+        }
+        Set<Long> changed = closeWarmUpBuffer(loaded);
+        changed.forEach(zoneId -> notifyListeners(zoneId, null));
+        log.info("[SeatIndex] 워밍 완료: 존 {}개", loaded.size());
+    }
+
+    // 적재 + 버퍼 재반영을 한 번에 (그동안 들어온 변경은 끝난 뒤 그대로 반영되어 순서가 뒤집히지 않음). 바뀐 존 반환
+    private Set<Long> closeWarmUpBuffer(Map<Long, ZoneState> loaded) {
+        Set<Long> changed = new HashSet<>(loaded.keySet());
+        synchronized (warmLock) {
+            zones.putAll(loaded);
+            loaded.forEach(this::indexSeats);
+            // 스냅샷에 이미 들어간 변경이 다시 반영돼도 결과가 같다 (홀드 설정/해제, 예약 추가/삭제 모두 멱등)
+            for (PendingChange c : warmUpBuffer) {
+                if (applyNow(c.zoneId(), c.seatId(), c.change())) changed.add(c.zoneId());
+            }
+            warmUpBuffer = null;
+            warming = false;
+        }
+        return changed;
+    }
+
+    /** DB 와 인덱스를 비교해 불일치한 존은 다시 적재한다. 반환값은 불일치 존 수 */
+    @Scheduled(fixedDelayString = "${seat.index.verify-interval-ms:600000}", initialDelay = 600000)
+    public int verifyAgainstDatabase() {
+        if (!enabled) return 0;
+        Map<Long, Long> modsBefore = new HashMap<>();
+        zones.forEach((zoneId, z) -> modsBefore.put(zoneId, z.mods()));
+
+        LocalDateTime from = LocalDateTime.now().minusDays(RETENTION_DAYS);
+        Map<Long, ZoneState> fresh = load(seatRepository.findAllLayoutRows(),
+                seatHoldStore.activeHolds(null), reservationRepository.findActiveIntervals(from));
+
+        Set<Long> zoneIds = new HashSet<>(fresh.keySet());
+        zoneIds.addAll(zones.keySet());
+        int mismatched = 0;
+        for (Long zoneId : zoneIds) {
+            if (!reconcile(zoneId, fresh.getOrDefault(zoneId, new ZoneState()), modsBefore.get(zoneId))) {
+                mismatched++;
+            }
+        }
+        if (mismatched > 0) log.warn("[SeatIndex] DB 불일치 존 {}개 재적재", mismatched);
+        return mismatched;
+    }
+
+    /** 존 하나를 DB 와 비교, 일치하면 true */
+    public boolean verifyZone(Long zoneId) {
+        if (!enabled) return true;
+        ZoneState current = zones.get(zoneId);
+        Long modsBefore = current != null ? current.mods() : null;
+
+        LocalDateTime from = LocalDateTime.now().minusDays(RETENTION_DAYS);
+        ZoneState fresh = load(seatRepository.findLayoutRowsByZoneId(zoneId),
+                seatHoldStore.activeHolds(zoneId), reservationRepository.findActiveIntervalsByZoneId(zoneId, from))
+                .getOrDefault(zoneId, new ZoneState());
+        return reconcile(zoneId, fresh, modsBefore);
+    }
+
+    // 불일치면 DB 조회 이후 인덱스 변경이 없었을 때만 교체 (변경됐으면 다음 주기에 재검증)
+    private boolean reconcile(Long zoneId, ZoneState fresh, Long modsBefore) {
+        ZoneState current = zones.get(zoneId);
+        if (current == null) {
+            if (zones.putIfAbsent(zoneId, fresh) == null) {
+                indexSeats(zoneId, fresh);
+                notifyListeners(zoneId, null);
+            }
+            return false;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(RETENTION_DAYS);
+        synchronized (current) {
+            if (current.sameAs(fresh, cutoff)) return true;
+            if (modsBefore == null || current.mods != modsBefore) return false;
+            current.replaceWith(fresh);
+        }
+        indexSeats(zoneId, fresh);
+        notifyListeners(zoneId, null);
+        return false;
+    }
+
+    // 보존 기간이 지난 예약 구간, 만료된 홀드 정리 (1시간마다)
+    @Scheduled(fixedRate = 3_600_000)
+    public void pruneFinished() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusDays(RETENTION_DAYS);
+        zones.values().forEach(z -> {
+            synchronized (z) {
+                z.seats.values().forEach(s -> {
+                    s.reservations.values().removeIf(end -> !end.isAfter(cutoff));
+                    s.holds.values().removeIf(h -> !h.expiresAt.isAfter(now));
+                });
+            }
+        });
+    }
+
+    // seats: 좌석-존 매핑, holds: 홀드 저장소(db seat_hold / redis)의 유효 홀드
+    private Map<Long, ZoneState> load(List<SeatLayoutRow> seats, List<SeatHoldSnapshot> holds,
+                                      List<ReservationInterval> intervals) {
+        Map<Long, ZoneState> result = new HashMap<>();
+        for (SeatLayoutRow s : seats) {
+            if (s.getZoneId() == null) continue;
+            result.computeIfAbsent(s.getZoneId(), k -> new ZoneState()).seat(s.getId());
+        }
+        for (SeatHoldSnapshot h : holds) {
+            ZoneState zone = result.get(h.getZoneId());
+            if (zone == null || !zone.seats.containsKey(h.getSeatId())) continue;
+            zone.seat(h.getSeatId()).setHold(h.getHoldUserId(), h.getHoldStartTime(), h.getHoldEndTime(), h.getHoldExpiresAt());
+        }
+        for (ReservationInterval r : intervals) {
+            result.computeIfAbsent(r.getZoneId(), k -> new ZoneState())
+                    .seat(r.getSeatId())
+                    .addReservation(r.getStartTime(), r.getEndTime());
+        }
+        return result;
+    }
+
+    // ===== 조회 =====
+
+    /** 인덱스로 응답 가능한 존인지 (비활성/미워밍이면 호출측이 DB 조회로 폴백) */
+    public boolean isWarm(Long zoneId) {
+        return enabled && zoneId != null && zones.containsKey(zoneId);
+    }
+
+    public Availability availability(Long zoneId, LocalDateTime start, LocalDateTime end, Long userId) {
+        return availability(zoneId, null, start, end, userId);
+    }
+
+    /** seatIds 가 null 이면 존 전체, 아니면 해당 좌석만 판정 (델타 동기화용) */
+    public Availability availability(Long zoneId, Collection<Long> seatIds,
+                                     LocalDateTime start, LocalDateTime end, Long userId) {
+        ZoneState zone = zones.get(zoneId);
+        Set<Long> reserved = new HashSet<>();
+        Set<Long> holding = new HashSet<>();
+        Set<Long> holdingByMe = new HashSet<>();
+        Map<Long, LocalDateTime> holdUntil = new HashMap<>();
+        if (zone == null) return new Availability(reserved, holding, holdingByMe, holdUntil);
+
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (zone) {
+            Collection<Long> targets = seatIds != null ? seatIds : zone.seats.keySet();
+            for (Long seatId : targets) {
+                SeatState s = zone.seats.get(seatId);
+                if (s == null) continue;
+                if (s.overlapsReservation(start, end)) reserved.add(seatId);
+                for (HoldState h : s.activeHoldsFor(start, end, now)) {
+                    holding.add(seatId);
+                    holdUntil.merge(seatId, h.expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+                    if (userId != null && userId.equals(h.userId)) holdingByMe.add(seatId);
+                }
+            }
+        }
+        return new Availability(reserved, holding, holdingByMe, holdUntil);
+    }
+
+    /** 좌석이 속한 존 (미워밍/모르는 좌석이면 null) */
+    public Long zoneOf(Long seatId) {
+        if (!enabled || seatId == null) return null;
+        return zoneBySeat.get(seatId);
+    }
+
+    /** 인덱스 변경 횟수 (조회 중 변경 여부 확인용, 미워밍이면 -1) */
+    public long modCount(Long zoneId) {
+        ZoneState zone = zones.get(zoneId);
+        return zone != null ? zone.mods() : -1;
+    }
+
+    /**
+     * [from, to) 와 겹치는 좌석별 점유 구간 (예약 + 유효한 홀드).
+     * seatIds 가 null 이면 존 전체 좌석 (점유가 없는 좌석은 빈 목록).
+     */
+    public Map<Long, List<ReservationInterval>> occupancy(Long zoneId, Collection<Long> seatIds,
+                                                          LocalDateTime from, LocalDateTime to) {
+        Map<Long, List<ReservationInterval>> result = new HashMap<>();
+        ZoneState zone = zones.get(zoneId);
+        if (zone == null) return result;
+
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (zone) {
+            Collection<Long> targets = seatIds != null ? seatIds : zone.seats.keySet();
+            for (Long seatId : targets) {
+                SeatState s = zone.seats.get(seatId);
+                if (s == null) continue;
+                List<ReservationInterval> intervals = new ArrayList<>();
+                var first = s.reservations.lowerEntry(from);
+                if (first != null && first.getValue().isAfter(from)) {
+                    intervals.add(new ReservationInterval(seatId, zoneId, first.getKey(), first.getValue()));
+                }
+                s.reservations.subMap(from, true, to, false)
+                        .forEach((st, en) -> intervals.add(new ReservationInterval(seatId, zoneId, st, en)));
+                for (HoldState h : s.activeHoldsFor(from, to, now)) {
+                    intervals.add(new ReservationInterval(seatId, zoneId, h.startTime, h.endTime));
+                }
+                result.put(seatId, intervals);
+            }
+        }
+        return result;
+    }
+
+    // ===== 갱신 (커밋 후 반영) =====
+
+    public void onHold(Long zoneId, Long seatId, Long userId,
+                       LocalDateTime start, LocalDateTime end, LocalDateTime expiresAt) {
+        apply(zoneId, seatId, s -> s.setHold(userId, start, end, expiresAt));
+    }
+
+    /** [start, end) 와 겹치는 홀드만 제거 (같은 좌석의 다른 시간대 홀드는 유지) */
+    public void onHoldCleared(Long zoneId, Long seatId, LocalDateTime start, LocalDateTime end) {
+        apply(zoneId, seatId, s -> s.clearHolds(start, end));
+    }
+
+    public void onReserved(Long zoneId, Long seatId, LocalDateTime start, LocalDateTime end) {
+        apply(zoneId, seatId, s -> {
+            s.clearHolds(start, end);
+            s.addReservation(start, end);
+        });
+    }
+
+    public void onReservationCanceled(Long zoneId, Long seatId, LocalDateTime start, LocalDateTime end) {
+        apply(zoneId, seatId, s -> s.removeReservation(start, end));
+    }
+
+    private void apply(Long zoneId, Long seatId, Consumer<SeatState> change) {
+        if (!enabled || zoneId == null || seatId == null) return;
+        AfterCommit.run(() -> {
+            if (warming) {
+                synchronized (warmLock) {
+                    if (warmUpBuffer != null) {
+                        warmUpBuffer.add(new PendingChange(zoneId, seatId, change));
+                        return;
+                    }
+                }
+            }
+            // 미워밍 존은 다음 검증 때 통째로 적재
+            if (applyNow(zoneId, seatId, change)) notifyListeners(zoneId, seatId);
+        });
+    }
+
+    private boolean applyNow(Long zoneId, Long seatId, Consumer<SeatState> change) {
+        ZoneState zone = zones.get(zoneId);
+        if (zone == null) return false;
+        synchronized (zone) {
+            change.accept(zone.seat(seatId));
+            zone.mods++;
+        }
+        zoneBySeat.put(seatId, zoneId);
+        return true;
+    }
+
+    // 적재한 존의 좌석을 좌석 → 존 맵에 등록 (다른 존으로 옮겨진 좌석은 새 존으로 덮어씀)
+    private void indexSeats(Long zoneId, ZoneState zone) {
+        List<Long> seatIds;
+        synchronized (zone) {
+            seatIds = List.copyOf(zone.seats.keySet());
+        }
+        seatIds.forEach(seatId -> zoneBySeat.put(seatId, zoneId));
+    }
+
+    private record PendingChange(Long zoneId, Long seatId, Consumer<SeatState> change) {
+    }
+
+    // 존 락 밖에서 호출 (리스너가 다시 인덱스를 조회하므로)
+    private void notifyListeners(Long zoneId, Long seatId) {
+        for (ChangeListener l : listeners) {
+            try {
+                l.onSeatChanged(zoneId, seatId);
+            } catch (Exception e) {
+                log.warn("[SeatIndex] 리스너 실패: zoneId={}, seatId={}", zoneId, seatId, e);
+            }
+        }
+    }
+
+    // ===== 내부 상태 =====
+
+    @Getter
+    @AllArgsConstructor
+    public static class Availability {
+        private final Set<Long> reservedSeatIds;
+        private final Set<Long> holdingSeatIds;
+        private final Set<Long> holdingByMeSeatIds;
+        private final Map<Long, LocalDateTime> holdUntil;
+    }
+
+    private static class ZoneState {
+        final Map<Long, SeatState> seats = new HashMap<>();
+        long mods;
+
+        SeatState seat(Long seatId) {
+            return seats.computeIfAbsent(seatId, k -> new SeatState());
+        }
+
+        synchronized long mods() {
+            return mods;
+        }
+
+        boolean sameAs(ZoneState other, LocalDateTime cutoff) {
+            if (!seats.keySet().equals(other.seats.keySet())) return false;
+            for (var e : seats.entrySet()) {
+                if (!e.getValue().sameAs(other.seats.get(e.getKey()), cutoff)) return false;
+            }
+            return true;
+        }
+
+        void replaceWith(ZoneState other) {
+            seats.clear();
+            seats.putAll(other.seats);
+            mods++;
+        }
+    }
+
+    private static class SeatState {
+        // 예약 구간: 시작 → 종료 (RESERVED 예약끼리는 겹치지 않음)
+        final TreeMap<LocalDateTime, LocalDateTime> reservations = new TreeMap<>();
+
+        // 홀드: 시작 → 홀드 (한 좌석의 유효 홀드끼리는 겹치지 않음, 만료된 것은 판정에서 제외)
+        final TreeMap<LocalDateTime, HoldState> holds = new TreeMap<>();
+
+        void addReservation(LocalDateTime start, LocalDateTime end) {
+            reservations.merge(start, end, (a, b) -> a.isAfter(b) ? a : b);
+        }
+
+        void removeReservation(LocalDateTime start, LocalDateTime end) {
+            reservations.remove(start, end);
+        }
+
+        // 시작 시각이 요청 종료보다 앞선 마지막 구간만 보면 된다 (구간이 서로 겹치지 않으므로)
+        boolean overlapsReservation(LocalDateTime start, LocalDateTime end) {
+            var candidate = reservations.lowerEntry(end);
+            return candidate != null && candidate.getValue().isAfter(start);
+        }
+
+        // 같은 시간대에 겹치는 이전 홀드(연장 전 값, 만료된 홀드)는 대체
+        void setHold(Long userId, LocalDateTime start, LocalDateTime end, LocalDateTime expiresAt) {
+            if (userId == null || start == null || end == null || expiresAt == null) return;
+            clearHolds(start, end);
+            holds.put(start, new HoldState(userId, start, end, expiresAt));
+        }
+
+        void clearHolds(LocalDateTime start, LocalDateTime end) {
+            holds.headMap(end, false).values().removeIf(h -> h.endTime.isAfter(start));
+        }
+
+        List<HoldState> activeHoldsFor(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+            if (holds.isEmpty()) return List.of();
+            List<HoldState> result = new ArrayList<>(1);
+            for (HoldState h : holds.headMap(end, false).values()) {
+                if (h.endTime.isAfter(start) && h.expiresAt.isAfter(now)) result.add(h);
+            }
+            return result;
+        }
+
+        boolean sameAs(SeatState other, LocalDateTime cutoff) {
+            if (!liveReservations(cutoff).equals(other.liveReservations(cutoff))) return false;
+            LocalDateTime now = LocalDateTime.now();
+            return liveHolds(now).equals(other.liveHolds(now));
+        }
+
+        // 비교용: 유효 홀드의 시작 → "userId|종료" (만료 시각은 연장마다 달라지므로 제외)
+        private Map<LocalDateTime, String> liveHolds(LocalDateTime now) {
+            Map<LocalDateTime, String> live = new HashMap<>();
+            holds.forEach((s, h) -> { if (h.expiresAt.isAfter(now)) live.put(s, h.userId + "|" + h.endTime); });
+            return live;
+        }
+
+        private Map<LocalDateTime, LocalDateTime> liveReservations(LocalDateTime cutoff) {
+            Map<LocalDateTime, LocalDateTime> live = new HashMap<>();
+            reservations.forEach((s, e) -> { if (e.isAfter(cutoff)) live.put(s, e); });
+            return live;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class HoldState {
+        final Long userId;
+        final LocalDateTime startTime;
+        final LocalDateTime endTime;
+        final LocalDateTime expiresAt;
+    }
+}
@@ -0,0 +1,76 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.entity.Payment;
+import com.study.StudyCafe.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 좌석 변경 명령 진입점. seat.actor.enabled 이면 좌석이 속한 존의 메일박스에서 순서대로 실행하고,
+ * 아니면 기존처럼 호출 스레드에서 SeatService / ReservationService 를 바로 호출한다.
+ * seat.lock.mode=optimistic 이면 version 충돌 시 명령 전체(트랜잭션)를 SeatLockGuard 가 다시 실행한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatCommandService {
+
+    private final SeatService seatService;
+    private final ReservationService reservationService;
+    private final SeatRepository seatRepository;
+    private final ZoneCommandExecutor zoneCommandExecutor;
+    private final SeatLockGuard seatLockGuard;
+    private final TransactionTemplate transactionTemplate;
+
+    public void holdSeat(Long seatId, Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        seatLockGuard.withRetry("hold", () -> inZoneOf(List.of(seatId), () -> {
+            seatService.holdSeat(seatId, userId, startTime, endTime);
+            return null;
+        }));
+    }
+
+    public List<SeatHoldSnapshot> holdSeats(List<Long> seatIds, Long userId, LocalDateTime startTime, LocalDateTime endTime) {
+        return seatLockGuard.withRetry("hold-batch",
+                () -> inZoneOf(seatIds, () -> seatService.holdSeats(seatIds, userId, startTime, endTime)));
+    }
+
+    public void releaseHold(Long seatId, Long userId) {
+        seatLockGuard.withRetry("release", () -> inZoneOf(List.of(seatId), () -> {
+            seatService.releaseHold(seatId, userId);
+            return null;
+        }));
+    }
+
+    public void reserveSeats(List<Long> seatIds, Long userId, LocalDateTime start, LocalDateTime end, Payment payment) {
+        seatLockGuard.withRetry("reserve", () -> inZoneOf(seatIds, () -> {
+            reservationService.reserveSeats(seatIds, userId, start, end, payment);
+            return null;
+        }));
+    }
+
+    /**
+     * 결제 확정 예약: work(결제 저장 + reservationService.reserveSeats + 사가 RESERVED)를 한 트랜잭션으로 실행.
+     * 낙관 모드에서 version 충돌(같은 좌석 다른 시간대의 홀드 등)이면 트랜잭션째 다시 실행해
+     * 이미 결제된 주문이 충돌 한 번으로 환불되지 않게 한다.
+     * seat.actor.enabled 이면 다른 좌석 명령과 같은 존 메일박스에서 실행 (메일박스 트랜잭션에 합류).
+     */
+    public void reservePaid(List<Long> seatIds, Runnable work) {
+        seatLockGuard.withRetry("reserve-paid", () -> inZoneOf(seatIds, () -> {
+            transactionTemplate.executeWithoutResult(tx -> work.run());
+            return null;
+        }));
+    }
+
+    // 좌석들이 한 존에 속하면 그 존 메일박스, 여러 존이거나 못 찾으면 호출 스레드에서 실행
+    private <T> T inZoneOf(List<Long> seatIds, Supplier<T> command) {
+        if (!zoneCommandExecutor.isEnabled() || seatIds == null || seatIds.isEmpty()) return command.get();
+        List<Long> zoneIds = seatRepository.findZoneIdsByIdIn(seatIds).stream().distinct().toList();
+        Long zoneId = zoneIds.size() == 1 ? zoneIds.get(0) : null;
+        return zoneCommandExecutor.execute(zoneId, command);
+    }
+}
@@ -0,0 +1,261 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.entity.SeatEventOutbox;
+import com.study.StudyCafe.repository.SeatEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * seat_event_outbox → Redis "seat-events" 릴레이.
+ * 전용 스레드가 짧은 트랜잭션으로 존 단위로 미발행 행을 가져가고(존별 머리 행 SKIP LOCKED + claimed_by),
+ * 트랜잭션 밖에서 Lua 스크립트 한 번으로 id 순서대로 발행한 뒤 두 번째 짧은 트랜잭션에서 발행 표시. Redis 대기 중에는 DB 락을 잡지 않는다.
+ * 한 존은 한 번에 한 릴레이만 가져가므로 릴레이가 여럿이어도 존 안의 순서는 id 순서대로 유지된다.
+ * Redis 가 실패하면 표시를 풀어 다음 회차에 다시 보낸다. 표시 전에 죽으면 claim-timeout-ms 뒤 다른 릴레이가 다시 보낸다 (최소 1회).
+ * 다시 가져간 뒤 원래 릴레이가 늦게 깨어나 옛 이벤트를 보내지 않도록, 존마다 Redis 에 마지막 가져간 시각(fence)을 두고
+ * 그보다 먼저 가져간 묶음은 스크립트가 발행하지 않는다.
+ * 커밋 알림(signal)이 오면 바로, 아니면 poll-ms 마다 확인.
+ * 메트릭: seat.outbox.lag(기록→발행 지연), seat.outbox.pending.age(가장 오래된 미발행 행 나이), seat.outbox.published/failed/pruned
+ */
+@Slf4j
+@Component
+public class SeatEventOutboxRelay {
+
+    // fence 키는 한 해시 슬롯에 모은다 ({seat-outbox}) → 여러 존을 한 스크립트에서 다뤄도 클러스터에서 CROSSSLOT 없음
+    private static final String FENCE_PREFIX = "{seat-outbox}:fence:";
+
+    // KEYS: 묶음에 든 존의 fence 키, ARGV[1]: 가져간 시각(ms), 그 뒤 (존 번호, payload) 쌍
+    // fence 가 이 묶음보다 늦은 존(다른 릴레이가 다시 가져감)은 건너뛰고, 존마다 발행 여부(1/0)를 돌려준다
+    private static final RedisScript<List> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            local epoch = tonumber(ARGV[1])
+            local ok = {}
+            for i, key in ipairs(KEYS) do
+              local fence = tonumber(redis.call('GET', key) or '0')
+              if fence <= epoch then
+                redis.call('SET', key, ARGV[1])
+                ok[i] = 1
+              else
+                ok[i] = 0
+              end
+            end
+            for j = 2, #ARGV, 2 do
+              if ok[tonumber(ARGV[j])] == 1 then
+                redis.call('PUBLISH', 'seat-events', ARGV[j + 1])
+              end
+            end
+            return ok
+            """, List.class);
+
+    private final SeatEventOutboxRepository outboxRepository;
+    private final RedisTemplate<String, String> redisStringTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer lag;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter pruned;
+
+    @Value("${seat.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${seat.outbox.poll-ms:500}")
+    private long pollMs;
+
+    @Value("${seat.outbox.claim-timeout-ms:30000}")
+    private long claimTimeoutMs;
+
+    @Value("${seat.outbox.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Semaphore wake = new Semaphore(0);
+    private volatile boolean running;
+    private volatile LocalDateTime oldestPending; // null = 밀린 행 없음
+    private Thread worker;
+
+    public SeatEventOutboxRelay(SeatEventOutboxRepository outboxRepository,
+                                RedisTemplate<String, String> redisStringTemplate,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.redisStringTemplate = redisStringTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.lag = Timer.builder("seat.outbox.lag").register(meterRegistry);
+        this.published = Counter.builder("seat.outbox.published").register(meterRegistry);
+        this.failed = Counter.builder("seat.outbox.failed").register(meterRegistry);
+        this.pruned = Counter.builder("seat.outbox.pruned").register(meterRegistry);
+        Gauge.builder("seat.outbox.pending.age", this, SeatEventOutboxRelay::pendingAgeSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        worker = new Thread(this::loop, "seat-outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) worker.interrupt();
+    }
+
+    /** 아웃박스 기록이 커밋됐음을 알림 → 폴링 주기를 기다리지 않고 바로 발행 */
+    public void signal() {
+        if (wake.availablePermits() == 0) wake.release();
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                int sent = drainOnce();
+                if (sent < batchSize) {
+                    wake.tryAcquire(pollMs, TimeUnit.MILLISECONDS);
+                    wake.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                failed.increment();
+                log.warn("[Outbox] 발행 실패, {}ms 후 재시도: {}", pollMs, e.getMessage());
+                refreshOldestPending();
+                sleepQuietly();
+            }
+        }
+    }
+
+    // 한 묶음: 존 단위로 가져감(짧은 트랜잭션) → 스크립트로 발행(트랜잭션 밖) → 발행 표시(짧은 트랜잭션)
+    int drainOnce() {
+        String token = UUID.randomUUID().toString();
+        long epoch = System.currentTimeMillis();
+        LocalDateTime claimedAt = LocalDateTime.now();
+        List<SeatEventOutbox> batch = transactionTemplate.execute(tx -> {
+            List<Long> zones = outboxRepository.findClaimableZonesForUpdate(
+                    claimedAt.minus(Duration.ofMillis(claimTimeoutMs)), batchSize);
+            if (zones.isEmpty()) return List.<SeatEventOutbox>of();
+            outboxRepository.claimZones(zones, token, claimedAt, batchSize);
+            return outboxRepository.findAllByPublishedAtIsNullAndClaimedByOrderByIdAsc(token);
+        });
+        if (batch == null || batch.isEmpty()) {
+            oldestPending = null;
+            return 0;
+        }
+
+        // 존마다 fence 키 하나, 행마다 (존 번호, payload)
+        Map<Long, Integer> zoneIndex = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(epoch));
+        for (SeatEventOutbox row : batch) {
+            Long zone = zoneKey(row);
+            Integer index = zoneIndex.computeIfAbsent(zone, z -> {
+                keys.add(FENCE_PREFIX + z);
+                return keys.size();
+            });
+            args.add(String.valueOf(index));
+            args.add(row.getPayload());
+        }
+
+        List<Object> flags;
+        try {
+            flags = redisStringTemplate.execute(PUBLISH_SCRIPT, keys, args.toArray());
+        } catch (RuntimeException e) {
+            List<Long> ids = batch.stream().map(SeatEventOutbox::getId).toList();
+            try {
+                transactionTemplate.executeWithoutResult(tx -> outboxRepository.releaseClaim(ids, token));
+            } catch (RuntimeException releaseFailure) {
+                log.debug("[Outbox] 표시 해제 실패 (claim-timeout 뒤 다시 가져감): {}", releaseFailure.getMessage());
+            }
+            throw e;
+        }
+
+        // fence 에 막힌 존(다른 릴레이가 이미 다시 가져감)의 행은 그쪽이 보내고 표시한다
+        List<SeatEventOutbox> sentRows = batch.stream()
+                .filter(row -> flags != null && Long.valueOf(1).equals(flags.get(zoneIndex.get(zoneKey(row)) - 1)))
+                .toList();
+        if (sentRows.size() < batch.size()) {
+            log.debug("[Outbox] 다시 가져간 존의 행 {}개 건너뜀", batch.size() - sentRows.size());
+        }
+        if (sentRows.isEmpty()) return batch.size();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = sentRows.stream().map(SeatEventOutbox::getId).toList();
+        Integer sent = transactionTemplate.execute(tx -> outboxRepository.markPublished(ids, token, now));
+        sentRows.forEach(row -> lag.record(Duration.between(row.getCreatedAt(), now)));
+        published.increment(sent == null ? 0 : sent);
+
+        // 묶음이 꽉 찼으면 아직 밀린 행이 있다
+        if (batch.size() < batchSize) oldestPending = null;
+        else refreshOldestPending();
+        return batch.size();
+    }
+
+    private static Long zoneKey(SeatEventOutbox row) {
+        return row.getZoneId() == null ? 0L : row.getZoneId();
+    }
+
+    private void refreshOldestPending() {
+        try {
+            oldestPending = outboxRepository.findFirstByPublishedAtIsNullOrderByIdAsc()
+                    .map(SeatEventOutbox::getCreatedAt).orElse(null);
+        } catch (RuntimeException e) {
+            log.debug("[Outbox] 미발행 행 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    // ✅ 보존 기간이 지난 발행 완료 행 정리 (1000개씩 나눠 삭제)
+    @Scheduled(fixedDelayString = "${seat.outbox.prune-interval-ms:60000}", initialDelay = 60_000)
+    public void prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        int total = 0;
+        int deleted;
+        do {
+            Integer n = transactionTemplate.execute(tx -> outboxRepository.deletePublishedBefore(cutoff, 1000));
+            deleted = n == null ? 0 : n;
+            total += deleted;
+        } while (deleted == 1000);
+        if (total > 0) {
+            pruned.increment(total);
+            log.debug("[Outbox] 발행 완료 행 {}개 정리", total);
+        }
+    }
+
+    private double pendingAgeSeconds() {
+        LocalDateTime oldest = oldestPending;
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
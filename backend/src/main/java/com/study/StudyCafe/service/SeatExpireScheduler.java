@@ -2,8 +2,10 @@
 package com.study.StudyCafe.service;
 
 import com.study.StudyCafe.entity.Seat;
-import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.entity.SeatHold;
+import com.study.StudyCafe.repository.SeatHoldRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -12,31 +14,53 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.*;
 
+// seat_hold 행(db 저장소) 만료 처리: HoldExpiryWheel 이 정시에 호출, 주기 스윕은 안전망. redis 저장소는 키 TTL 만료 알림으로 처리 (RedisHoldExpiryListener)
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "seat.hold.store", havingValue = "db", matchIfMissing = true)
 public class SeatExpireScheduler {
 
-    private final SeatRepository seatRepository;
+    private final SeatHoldRepository seatHoldRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final ZoneVersionRegistry zoneVersionRegistry;
+    private final HoldQuotaService holdQuotaService;
 
-    @Scheduled(fixedDelay = 50000)
+    /** 타이밍 휠이 넘긴 홀드 중 실제로 만료된 것만 삭제 (그 사이 연장됐으면 건너뜀) */
+    @Transactional
+    public void expire(Collection<Long> holdIds) {
+        if (holdIds.isEmpty()) return;
+        LocalDateTime now = LocalDateTime.now();
+        clearAndBroadcast(seatHoldRepository.findExpiredByIdInForUpdate(List.copyOf(holdIds), now), now);
+    }
+
+    // 안전망: 다른 인스턴스가 등록한 홀드가 그 인스턴스 종료로 남은 경우 등
+    @Scheduled(fixedDelayString = "${seat.hold.sweep-interval-ms:600000}", initialDelay = 60000)
     @Transactional
     public void sweepExpiredHolds() {
-        List<Seat> expired = seatRepository.findExpiredHolds(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        clearAndBroadcast(seatHoldRepository.findExpiredForUpdate(now), now);
+    }
+
+    // expired 는 잠근 상태로 읽은 행 → 지운 행과 같다
+    private void clearAndBroadcast(List<SeatHold> expired, LocalDateTime now) {
         if (expired.isEmpty()) return;
+        seatHoldRepository.deleteExpiredByIdIn(expired.stream().map(SeatHold::getId).toList(), now);
 
-        Map<Long, List<Long>> zoneToSeatIds = new HashMap<>();
-        for (Seat s : expired) {
-            s.clearHold(); // status=available, holdUser=null, holdExpiresAt=null
-            Long zoneId = s.getZone().getId();
-            zoneToSeatIds.computeIfAbsent(zoneId, k -> new ArrayList<>()).add(s.getId());
+        Map<Long, Set<Long>> zoneToSeatIds = new HashMap<>();
+        for (SeatHold h : expired) {
+            Seat seat = h.getSeat();
+            Long zoneId = seat.getZone().getId();
+            zoneToSeatIds.computeIfAbsent(zoneId, k -> new LinkedHashSet<>()).add(seat.getId());
+            seatAvailabilityIndex.onHoldCleared(zoneId, seat.getId(), h.getStartTime(), h.getEndTime());
+            holdQuotaService.onCleared(seat.getId(), h.getStartTime(), h.getEndTime());
         }
-        seatRepository.saveAll(expired);
+        zoneToSeatIds.forEach((zoneId, ids) -> zoneVersionRegistry.record(zoneId, List.copyOf(ids), Seat.STATUS_AVAILABLE));
 
         // 프론트가 기대하는 형식으로 존별 브로드캐스트
         zoneToSeatIds.forEach((zoneId, ids) -> {
             Map<String, Object> ev = Map.of(
-                    "seatIds", ids,
+                    "seatIds", List.copyOf(ids),
                     "status", "available"
             );
             messagingTemplate.convertAndSend("/topic/seats/" + zoneId, ev);
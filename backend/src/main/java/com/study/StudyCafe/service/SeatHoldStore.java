@@ -0,0 +1,42 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 좌석 홀드 저장소 (seat.hold.store=db|redis).
+ * - db    : seat_hold 테이블 (좌석+시간대당 한 행) + 겹치는 홀드 행 잠금, 만료는 HoldExpiryWheel
+ * - redis : 좌석+시간대별 키와 좌석별 색인 세트 + Lua 스크립트 원자 획득, 만료는 키 TTL + keyspace 알림
+ */
+public interface SeatHoldStore {
+
+    int HOLD_MINUTES = 5;
+
+    /**
+     * 홀드 획득/연장. 예약 또는 다른 사용자의 겹치는 유효 홀드가 있으면 IllegalStateException,
+     * 좌석이 없으면 IllegalArgumentException. 적용된 홀드를 돌려준다.
+     */
+    SeatHoldSnapshot hold(Long seatId, Long userId, LocalDateTime start, LocalDateTime end);
+
+    /** 같은 존의 여러 좌석을 한 시간대로 전부 홀드하거나 하나도 하지 않는다 (좌석 id 오름차순으로 잠금) */
+    List<SeatHoldSnapshot> holdAll(Long zoneId, List<Long> seatIds, Long userId, LocalDateTime start, LocalDateTime end);
+
+    /** 좌석의 본인 홀드를 모두 해제. 없으면 빈 목록, 다른 사용자 홀드만 있으면 IllegalStateException */
+    List<SeatHoldSnapshot> release(Long seatId, Long userId);
+
+    /** 예약 확정 전 확인: 다른 사용자의 유효 홀드가 시간대와 겹치는 좌석들 (zoneBySeat: 좌석 id → 존 id) */
+    Set<Long> heldByOthers(Map<Long, Long> zoneBySeat, Long userId, LocalDateTime start, LocalDateTime end);
+
+    /** 예약 확정으로 본인의 겹치는 홀드 제거 (좌석 여러 개를 한 번에) */
+    void clear(Map<Long, Long> zoneBySeat, Long userId, LocalDateTime start, LocalDateTime end);
+
+    /** 유효한 홀드 전체 (zoneId 가 null 이면 모든 존). 가용성 인덱스 워밍/히트맵 폴백용 */
+    List<SeatHoldSnapshot> activeHolds(Long zoneId);
+
+    /** DB 좌석 상태 조회(SeatStatusRow)에 포함되지 않는 홀드. db 는 조회가 seat_hold 를 직접 보므로 빈 목록 */
+    List<SeatHoldSnapshot> externalHolds(Long zoneId);
+}
@@ -0,0 +1,158 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.SeatDto;
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.dto.seat.SeatLayoutRow;
+import com.study.StudyCafe.dto.seat.SeatStatusRow;
+import com.study.StudyCafe.repository.SeatRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 좌석 목록 조회 (GET /api/seats, /api/nlu/parse-and-list 공통).
+ * 인덱스가 준비된 존은 캐시된 배치 + 인덱스로 (SQL 없음), 아니면 요청 시간대 기준 겹침/홀드 플래그까지 포함한 행을 한 번 조회한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatListingService {
+
+    private final SeatRepository seatRepository;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final ZoneVersionRegistry zoneVersionRegistry;
+    private final ReferenceDataCache referenceDataCache;
+    private final SeatHoldStore seatHoldStore;
+
+    /**
+     * @param windowSide / outlet / quiet  null 이면 조건 없음
+     */
+    @Transactional(readOnly = true)
+    public SeatListing list(Long zoneId, LocalDateTime start, LocalDateTime end, Long userId,
+                            Boolean windowSide, Boolean outlet, Boolean quiet) {
+        List<SeatLayoutRow> rows;
+        Set<Long> reservedSeatIds = new HashSet<>();
+        Set<Long> holdingSeatIds = new HashSet<>();
+        Set<Long> holdingByMeSeatIds = new HashSet<>();
+        Map<Long, LocalDateTime> holdUntil = new HashMap<>();
+
+        boolean fromIndex = seatAvailabilityIndex.isWarm(zoneId);
+        if (fromIndex) {
+            rows = referenceDataCache.seatLayout(zoneId);
+            var availability = seatAvailabilityIndex.availability(zoneId, start, end, userId);
+            reservedSeatIds.addAll(availability.getReservedSeatIds());
+            holdingSeatIds.addAll(availability.getHoldingSeatIds());
+            holdingByMeSeatIds.addAll(availability.getHoldingByMeSeatIds());
+            holdUntil.putAll(availability.getHoldUntil());
+        } else {
+            LocalDateTime now = LocalDateTime.now();
+            List<SeatStatusRow> statusRows = seatRepository.findStatusRowsByZoneId(zoneId, start, end, userId, now);
+            for (SeatStatusRow r : statusRows) {
+                if (r.isReserved()) reservedSeatIds.add(r.getId());
+                if (r.isHolding()) holdingSeatIds.add(r.getId());
+                if (r.isHoldingByMe()) holdingByMeSeatIds.add(r.getId());
+                if (r.getHoldExpiresAt() != null && r.getHoldExpiresAt().isAfter(now)) {
+                    holdUntil.put(r.getId(), r.getHoldExpiresAt());
+                }
+            }
+            // seat_hold 밖(redis) 홀드 반영 (db 저장소는 빈 목록)
+            for (SeatHoldSnapshot h : seatHoldStore.externalHolds(zoneId)) {
+                if (h.getHoldExpiresAt() == null || !h.getHoldExpiresAt().isAfter(now)) continue;
+                if (h.getHoldStartTime().isBefore(end) && h.getHoldEndTime().isAfter(start)) {
+                    holdUntil.put(h.getSeatId(), h.getHoldExpiresAt());
+                    holdingSeatIds.add(h.getSeatId());
+                    if (userId != null && userId.equals(h.getHoldUserId())) holdingByMeSeatIds.add(h.getSeatId());
+                }
+            }
+            rows = new ArrayList<>(statusRows);
+        }
+
+        List<SeatDto> seats = rows.stream()
+                .filter(r -> windowSide == null || r.isWindowSide() == windowSide)
+                .filter(r -> outlet == null || r.isHasOutlet() == outlet)
+                .filter(r -> quiet == null || r.isQuiet() == quiet)
+                .map(r -> {
+                    SeatDto dto = new SeatDto();
+                    dto.setId(r.getId());
+                    dto.setSeatName(r.getSeatName());
+                    dto.setPosX(r.getPosX());
+                    dto.setPosY(r.getPosY());
+                    dto.setPrice(r.getPrice());
+                    dto.setZoneId(r.getZoneId());
+
+                    if (reservedSeatIds.contains(r.getId())) dto.setStatus("reserved");
+                    else if (holdingSeatIds.contains(r.getId())) dto.setStatus("hold");
+                    else dto.setStatus("available");
+
+                    dto.setHoldUntil(holdUntil.get(r.getId()));
+                    dto.setWindowSide(r.isWindowSide());
+                    dto.setHasOutlet(r.isHasOutlet());
+                    dto.setQuiet(r.isQuiet());
+                    return dto;
+                })
+                .toList();
+
+        return new SeatListing(seats, reservedSeatIds, holdingSeatIds, holdingByMeSeatIds, fromIndex);
+    }
+
+    /**
+     * 델타 동기화: since 이후 바뀐 좌석만 요청 시간대 기준 상태로 돌려준다.
+     * 링 버퍼에서 밀려났거나 인덱스가 준비되지 않은 존이면 empty → 호출측이 전체 스냅샷으로 응답.
+     */
+    public Optional<SeatDelta> changesSince(Long zoneId, long since, LocalDateTime start, LocalDateTime end, Long userId) {
+        if (!seatAvailabilityIndex.isWarm(zoneId)) return Optional.empty();
+        var changeSet = zoneVersionRegistry.changesSince(zoneId, since);
+        if (changeSet.isEmpty()) return Optional.empty();
+
+        Set<Long> changedSeatIds = new LinkedHashSet<>();
+        changeSet.get().getChanges().forEach(c -> changedSeatIds.addAll(c.getSeatIds()));
+
+        var availability = seatAvailabilityIndex.availability(zoneId, changedSeatIds, start, end, userId);
+        List<SeatChange> changes = changedSeatIds.stream()
+                .map(id -> {
+                    String status = "available";
+                    if (availability.getReservedSeatIds().contains(id)) status = "reserved";
+                    else if (availability.getHoldingSeatIds().contains(id)) status = "hold";
+                    return new SeatChange(id, status, availability.getHoldUntil().get(id),
+                            availability.getHoldingByMeSeatIds().contains(id));
+                })
+                .toList();
+        return Optional.of(new SeatDelta(changeSet.get().getVersion(), changes));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SeatDelta {
+        private final long version;
+        private final List<SeatChange> changes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SeatChange {
+        private final Long seatId;
+        private final String status;
+        private final LocalDateTime holdUntil;
+        private final boolean holdingByMe;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SeatListing {
+        private final List<SeatDto> seats;
+        private final Set<Long> reservedSeatIds;
+        private final Set<Long> holdingSeatIds;
+        private final Set<Long> holdingByMeSeatIds;
+        // 인덱스(커밋 후 갱신)에서 만든 목록인지. false 면 읽기 전용 트랜잭션 → 복제본일 수 있어 존 버전과 맞지 않는다
+        private final boolean fromIndex;
+    }
+
+    /** 이 존의 목록을 인덱스에서 만들 수 있는지 (존 버전과 같은 시점의 데이터) */
+    public boolean servesFromIndex(Long zoneId) {
+        return seatAvailabilityIndex.isWarm(zoneId);
+    }
+}
@@ -0,0 +1,100 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.entity.Seat;
+import com.study.StudyCafe.repository.SeatRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 좌석 쓰기 동시성 방식 (seat.lock.mode=pessimistic|optimistic).
+ * - pessimistic : SELECT ... FOR UPDATE 로 좌석 행을 잠근 뒤 진행 (기본)
+ * - optimistic  : 잠금 없이 읽고 커밋 시 seat.version 조건부 UPDATE 로 충돌을 감지,
+ *                 충돌하면 트랜잭션 밖에서 지터 백오프 후 max-attempts 까지 다시 실행
+ * 재시도/포기 횟수는 seat.lock.retry / seat.lock.abort {op} 카운터로 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SeatLockGuard {
+
+    private final SeatRepository seatRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seat.lock.mode:pessimistic}")
+    private String mode;
+
+    @Value("${seat.lock.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${seat.lock.backoff-ms:10}")
+    private long backoffMs;
+
+    public boolean isOptimistic() {
+        return "optimistic".equalsIgnoreCase(mode);
+    }
+
+    /** 좌석 쓰기 전 확보: 비관 모드는 행 잠금, 낙관 모드는 커밋 시 version 증가(충돌 감지)만 예약 */
+    public Optional<Seat> acquire(Long seatId) {
+        return isOptimistic()
+                ? seatRepository.findByIdForVersionBump(seatId)
+                : seatRepository.findByIdForUpdate(seatId);
+    }
+
+    /** 여러 좌석을 id 오름차순으로 한 번에 확보 (없는 좌석은 빠진 채로 돌려준다) */
+    public List<Seat> acquireAll(List<Long> seatIds) {
+        List<Long> ordered = seatIds.stream().distinct().sorted().toList();
+        return isOptimistic()
+                ? seatRepository.findAllByIdInForVersionBump(ordered)
+                : seatRepository.findAllByIdInForUpdate(ordered);
+    }
+
+    /**
+     * 낙관 모드에서 version 충돌이면 action 을 다시 실행한다.
+     * action 은 자체 트랜잭션으로 커밋까지 끝나야 하므로, 이미 트랜잭션 안이면 재시도 없이 그대로 전파.
+     */
+    public <T> T withRetry(String op, Supplier<T> action) {
+        if (!isOptimistic() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    counter("seat.lock.abort", op).increment();
+                    log.debug("[SeatLock] {} 재시도 {}회 후 포기", op, attempt);
+                    throw new IllegalStateException("다른 요청과 동시에 좌석이 변경되었습니다. 다시 시도해 주세요.", e);
+                }
+                counter("seat.lock.retry", op).increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    // full jitter: [0, backoffMs * 2^(attempt-1)]
+    private void backoff(int attempt) {
+        long cap = backoffMs << Math.min(attempt - 1, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("좌석 처리가 중단되었습니다.");
+        }
+    }
+
+    private Counter counter(String name, String op) {
+        return Counter.builder(name).tag("op", op).register(meterRegistry);
+    }
+}
@@ -3,13 +3,12 @@ package com.study.StudyCafe.service;
 
 import com.study.StudyCafe.config.SeatEventPublisher; // ✅ 추가
 import com.study.StudyCafe.dto.seat.SeatEvent;
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.entity.ReservationSlot;
 import com.study.StudyCafe.entity.Seat;
 import com.study.StudyCafe.entity.StudyZone;
-import com.study.StudyCafe.entity.User;
-import com.study.StudyCafe.repository.ReservationRepository;
 import com.study.StudyCafe.repository.SeatRepository;
 import com.study.StudyCafe.repository.StudyZoneRepository;
-import com.study.StudyCafe.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,98 +22,99 @@ import java.util.List;
 public class SeatService {
 
     private final SeatRepository seatRepository;
-    private final UserRepository userRepository;
     private final StudyZoneRepository studyZoneRepository;
-    private final ReservationRepository reservationRepository;
     private final SeatEventPublisher seatEventPublisher; // ✅ Redis 발행기
-
-    private static final int HOLD_MINUTES = 5;
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final ZoneVersionRegistry zoneVersionRegistry;
+    private final ReferenceDataCache referenceDataCache;
+    private final SeatHoldStore seatHoldStore;
+    private final HoldQuotaService holdQuotaService;
 
     @Transactional
     public void holdSeat(Long seatId, Long userId,
                          LocalDateTime startTime, LocalDateTime endTime) {
+        requireSlotAligned(startTime, endTime);
 
-        Seat seat = seatRepository.findByIdForUpdate(seatId)
-                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
-
-        if ("hold".equals(seat.getStatus()) && !seat.isHoldActive()) {
-            seat.clearHold();
-        }
-
-        boolean hasOverlapReservation =
-                reservationRepository.existsBySeatIdAndTimeOverlap(seatId, startTime, endTime);
-        if (hasOverlapReservation) {
-            throw new IllegalStateException("해당 시간대에 이미 예약이 있습니다.");
-        }
+        // ✅ DB 작업 전에 홀드 개수 제한 확인 (초과면 429)
+        holdQuotaService.check(userId, seatAvailabilityIndex.zoneOf(seatId), List.of(seatId), startTime, endTime);
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        if ("hold".equals(seat.getStatus())) {
-            if (seat.getHoldUser() != null && seat.getHoldUser().getId().equals(userId)) {
-                boolean overlapHold = seat.isHoldActiveFor(startTime, endTime);
-                if (!overlapHold) {
-                    seat.setHoldStartTime(startTime);
-                    seat.setHoldEndTime(endTime);
-                }
-                seat.setHoldExpiresAt(LocalDateTime.now().plusMinutes(HOLD_MINUTES));
-            } else {
-                if (seat.getHoldUser() != null && seat.isHoldActiveFor(startTime, endTime)) {
-                    throw new IllegalStateException("다른 사용자가 해당 시간대를 예약 중입니다.");
-                }
-                seat.setStatus("hold");
-                seat.setHoldUser(user);
-                seat.setHoldStartTime(startTime);
-                seat.setHoldEndTime(endTime);
-                seat.setHoldExpiresAt(LocalDateTime.now().plusMinutes(HOLD_MINUTES));
-            }
-        } else {
-            seat.setStatus("hold");
-            seat.setHoldUser(user);
-            seat.setHoldStartTime(startTime);
-            seat.setHoldEndTime(endTime);
-            seat.setHoldExpiresAt(LocalDateTime.now().plusMinutes(HOLD_MINUTES));
-        }
+        // ✅ 획득/연장/충돌 판정은 홀드 저장소(db 행 락 또는 redis 스크립트)가 처리
+        SeatHoldSnapshot hold = seatHoldStore.hold(seatId, userId, startTime, endTime);
+        holdQuotaService.onHeld(hold);
 
-        seatRepository.save(seat);
+        seatAvailabilityIndex.onHold(hold.getZoneId(), seatId, userId,
+                hold.getHoldStartTime(), hold.getHoldEndTime(), hold.getHoldExpiresAt());
+        zoneVersionRegistry.record(hold.getZoneId(), List.of(seatId), Seat.STATUS_HOLD);
 
-        // ✅ Redis로 이벤트 발행 (WebSocket은 Subscriber가 처리함)
+        // ✅ Redis로 이벤트 발행 (커밋 후 존 단위로 묶여 발행, WebSocket은 Subscriber가 처리함)
         SeatEvent event = new SeatEvent(
-                List.of(seat.getId()),
+                List.of(seatId),
                 "hold",
-                seat.getHoldExpiresAt(),
+                hold.getHoldExpiresAt(),
                 userId,
                 "hold",
-                seat.getZone().getId() // ✅ 반드시 포함
+                hold.getZoneId() // ✅ 반드시 포함
         );
         seatEventPublisher.publishSeatEvent(event);
     }
 
+    /** 단체 홀드: 같은 존의 좌석 N개를 한 시간대로 전부 홀드하거나 하나도 하지 않는다 */
     @Transactional
-    public void releaseHold(Long seatId, Long userId) {
-        Seat seat = seatRepository.findByIdForUpdate(seatId)
-                .orElseThrow(() -> new IllegalArgumentException("좌석을 찾을 수 없습니다."));
-
-        if ("hold".equals(seat.getStatus()) && !seat.isHoldActive()) {
-            seat.clearHold();
+    public List<SeatHoldSnapshot> holdSeats(List<Long> seatIds, Long userId,
+                                            LocalDateTime startTime, LocalDateTime endTime) {
+        if (seatIds == null || seatIds.isEmpty()) throw new IllegalArgumentException("seatIds는 필수입니다.");
+        requireSlotAligned(startTime, endTime);
+        List<Long> ids = seatIds.stream().distinct().sorted().toList();
+
+        List<Long> zoneIds = seatRepository.findZoneIdsByIdIn(ids);
+        if (zoneIds.size() != ids.size()) throw new IllegalArgumentException("좌석을 찾을 수 없습니다.");
+        if (zoneIds.stream().distinct().count() > 1) {
+            throw new IllegalArgumentException("같은 지점의 좌석만 함께 홀드할 수 있습니다.");
         }
-        if (!"hold".equals(seat.getStatus())) return;
+        Long zoneId = zoneIds.get(0);
+        holdQuotaService.check(userId, zoneId, ids, startTime, endTime);
+
+        List<SeatHoldSnapshot> holds = seatHoldStore.holdAll(zoneId, ids, userId, startTime, endTime);
 
-        if (seat.getHoldUser() == null || !seat.getHoldUser().getId().equals(userId)) {
-            throw new IllegalStateException("본인이 홀드한 좌석만 취소할 수 있습니다.");
+        for (SeatHoldSnapshot hold : holds) {
+            holdQuotaService.onHeld(hold);
+            seatAvailabilityIndex.onHold(zoneId, hold.getSeatId(), userId,
+                    hold.getHoldStartTime(), hold.getHoldEndTime(), hold.getHoldExpiresAt());
         }
+        zoneVersionRegistry.record(zoneId, ids, Seat.STATUS_HOLD);
 
-        seat.clearHold();
-        seatRepository.save(seat);
+        // ✅ 좌석 N개를 이벤트 하나로 발행
+        seatEventPublisher.publishSeatEvent(new SeatEvent(
+                ids,
+                "hold",
+                holds.get(0).getHoldExpiresAt(),
+                userId,
+                "hold",
+                zoneId
+        ));
+        return holds;
+    }
+
+    @Transactional
+    public void releaseHold(Long seatId, Long userId) {
+        List<SeatHoldSnapshot> released = seatHoldStore.release(seatId, userId);
+        if (released.isEmpty()) return;
+
+        Long zoneId = released.get(0).getZoneId();
+        for (SeatHoldSnapshot hold : released) {
+            holdQuotaService.onCleared(seatId, hold.getHoldStartTime(), hold.getHoldEndTime());
+            seatAvailabilityIndex.onHoldCleared(zoneId, seatId, hold.getHoldStartTime(), hold.getHoldEndTime());
+        }
+        zoneVersionRegistry.record(zoneId, List.of(seatId), Seat.STATUS_AVAILABLE);
 
         // ✅ Redis로 발행
         SeatEvent event = new SeatEvent(
-                List.of(seat.getId()),
+                List.of(seatId),
                 "available",
                 null,
                 userId,
                 "release",
-                seat.getZone().getId()
+                zoneId
         );
         seatEventPublisher.publishSeatEvent(event);
     }
@@ -141,5 +141,15 @@ public class SeatService {
         }
 
         seatRepository.saveAll(seats);
+        zoneVersionRegistry.bump(zoneId);
+        referenceDataCache.invalidateLayout(zoneId);
+    }
+
+    // ✅ 예약은 슬롯 경계(30분 단위) 시각만 받으므로 홀드도 같은 조건으로 미리 거절 (결제 후 예약 실패 방지)
+    private static void requireSlotAligned(LocalDateTime startTime, LocalDateTime endTime) {
+        if (startTime == null || endTime == null
+                || !ReservationSlot.isAligned(startTime) || !ReservationSlot.isAligned(endTime)) {
+            throw new IllegalArgumentException("예약 시간은 " + ReservationSlot.SLOT_MINUTES + "분 단위여야 합니다.");
+        }
     }
 }
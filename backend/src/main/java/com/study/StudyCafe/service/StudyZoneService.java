@@ -12,6 +12,7 @@ public class StudyZoneService {
 
     private final StudyZoneRepository studyZoneRepository;
     private final SeatService seatService; // ✅ SeatService 주입
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * Zone(지역)을 생성하고, 해당 지역에 좌석도 자동 생성
@@ -28,6 +29,7 @@ public class StudyZoneService {
 
         // 2. 좌석 자동 생성
         seatService.createStudyCafeSeats(zone.getId(), seatCount);
+        referenceDataCache.invalidateZones();
 
         return zone;
     }
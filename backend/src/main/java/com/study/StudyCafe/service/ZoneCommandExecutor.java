@@ -0,0 +1,226 @@
+package com.study.StudyCafe.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 존별 단일 작성자 실행기 (seat.actor.enabled=true 일 때).
+ * 존마다 lock-free MPSC 큐(메일박스)를 두고 한 번에 한 스레드만 꺼내 순서대로 실행한다.
+ * 꺼낸 명령은 최대 batch-size 개씩 한 트랜잭션으로 묶어 커밋한다(그룹 커밋).
+ * 묶음 중 k번째 명령이 실패하면 묶음 전체가 롤백되므로, k번째에는 그 예외를 돌려주고
+ * 앞/뒤 명령들만 다시 묶어 실행한다 → 커밋된 명령이 다시 적용되는 일은 없다.
+ * 커밋 단계에서 실패하면(어느 명령 탓인지 모름) 명령마다 개별 트랜잭션으로 한 번씩 실행한다.
+ * redis 홀드 저장소는 명령 실행 중 Redis 에 바로 써서 롤백되지 않으므로 묶지 않는다 (명령당 트랜잭션 하나).
+ */
+@Slf4j
+@Service
+public class ZoneCommandExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    @Value("${seat.actor.enabled:false}")
+    private boolean enabled;
+
+    @Value("${seat.actor.batch-size:16}")
+    private int batchSize;
+
+    @Value("${seat.actor.timeout-ms:5000}")
+    private long timeoutMs;
+
+    @Value("${seat.hold.store:db}")
+    private String holdStore;
+
+    public ZoneCommandExecutor(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 존 메일박스에서 명령을 실행하고 결과를 기다린다.
+     * 비활성/존 미상/이미 트랜잭션 안(결제 트랜잭션 등, 기다리면 교착 위험)이면 호출 스레드에서 바로 실행한다.
+     */
+    public <T> T execute(Long zoneId, Supplier<T> command) {
+        if (!enabled || zoneId == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return command.get();
+        }
+
+        Command<T> c = new Command<>(command);
+        Mailbox mailbox = mailboxes.computeIfAbsent(zoneId, Mailbox::new);
+        mailbox.queue.offer(c);
+        mailbox.schedule();
+
+        try {
+            return c.future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 아직 시작 전이면 취소 (시작했으면 결과와 무관하게 끝까지 실행됨)
+            if (c.cancel()) throw new IllegalStateException("좌석 처리 대기 시간이 초과되었습니다. 다시 시도해 주세요.");
+            return join(c);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            c.cancel();
+            throw new IllegalStateException("좌석 처리가 중단되었습니다.");
+        }
+    }
+
+    /** 대기 중인 명령 수 (존별) */
+    public Map<Long, Integer> backlog() {
+        Map<Long, Integer> result = new HashMap<>();
+        mailboxes.forEach((zoneId, m) -> result.put(zoneId, m.size.get()));
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private <T> T join(Command<T> c) {
+        try {
+            return c.future.get();
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("좌석 처리가 중단되었습니다.");
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException re) return re;
+        if (cause instanceof Error err) throw err;
+        return new IllegalStateException(cause);
+    }
+
+    // ===== 메일박스 =====
+
+    private final class Mailbox {
+        final Long zoneId;
+        final Queue<Command<?>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicInteger size = new AtomicInteger();
+
+        Mailbox(Long zoneId) {
+            this.zoneId = zoneId;
+        }
+
+        void schedule() {
+            size.incrementAndGet();
+            trySchedule();
+        }
+
+        void trySchedule() {
+            if (running.compareAndSet(false, true)) workers.execute(this::drain);
+        }
+
+        void drain() {
+            try {
+                while (true) {
+                    int limit = "redis".equals(holdStore) ? 1 : Math.max(1, batchSize);
+                    List<Command<?>> batch = new ArrayList<>(limit);
+                    Command<?> c;
+                    while (batch.size() < limit && (c = queue.poll()) != null) {
+                        size.decrementAndGet();
+                        if (c.start()) batch.add(c);
+                    }
+                    if (batch.isEmpty()) break;
+                    runBatch(batch);
+                }
+            } finally {
+                running.set(false);
+                // 종료 직전에 들어온 명령이 있으면 다시 예약
+                if (!queue.isEmpty()) trySchedule();
+            }
+        }
+
+        void runBatch(List<Command<?>> batch) {
+            if (batch.isEmpty()) return;
+            if (batch.size() == 1) {
+                runAlone(batch.get(0));
+                return;
+            }
+
+            int[] failedAt = {-1};
+            Throwable[] failure = {null};
+            try {
+                List<Object> results = transactionTemplate.execute(status -> {
+                    List<Object> out = new ArrayList<>(batch.size());
+                    for (int i = 0; i < batch.size(); i++) {
+                        try {
+                            out.add(batch.get(i).work.get());
+                        } catch (RuntimeException | Error e) {
+                            failedAt[0] = i;
+                            failure[0] = e;
+                            throw e;
+                        }
+                    }
+                    return out;
+                });
+                for (int i = 0; i < batch.size(); i++) batch.get(i).complete(results.get(i));
+            } catch (RuntimeException | Error e) {
+                int k = failedAt[0];
+                if (k < 0) {
+                    // 커밋 실패: 묶음 전체가 롤백됨 → 하나씩 (각 명령은 여전히 한 번만 적용된다)
+                    log.debug("[ZoneActor] zoneId={} 묶음 커밋 실패, 개별 실행 ({}건)", zoneId, batch.size());
+                    batch.forEach(this::runAlone);
+                    return;
+                }
+                // k번째 명령의 실패가 결과. 롤백된 나머지는 k 없이 다시 실행
+                log.debug("[ZoneActor] zoneId={} 묶음 {}번째 명령 실패, 나머지 {}건 재실행", zoneId, k, batch.size() - 1);
+                batch.get(k).future.completeExceptionally(failure[0]);
+                runBatch(batch.subList(0, k));
+                runBatch(batch.subList(k + 1, batch.size()));
+            }
+        }
+
+        void runAlone(Command<?> c) {
+            try {
+                c.complete(transactionTemplate.execute(status -> c.work.get()));
+            } catch (Throwable t) {
+                c.future.completeExceptionally(t);
+            }
+        }
+    }
+
+    private static final class Command<T> {
+        static final int NEW = 0, RUNNING = 1, CANCELLED = 2;
+
+        final Supplier<T> work;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final AtomicInteger state = new AtomicInteger(NEW);
+
+        Command(Supplier<T> work) {
+            this.work = work;
+        }
+
+        boolean start() {
+            return state.compareAndSet(NEW, RUNNING);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(NEW, CANCELLED);
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete(Object result) {
+            future.complete((T) result);
+        }
+    }
+}
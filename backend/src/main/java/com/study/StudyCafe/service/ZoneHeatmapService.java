@@ -0,0 +1,171 @@
+package com.study.StudyCafe.service;
+
+import com.study.StudyCafe.dto.seat.ReservationInterval;
+import com.study.StudyCafe.dto.seat.SeatHoldSnapshot;
+import com.study.StudyCafe.dto.seat.SeatLayoutRow;
+import com.study.StudyCafe.dto.seat.ZoneHeatmapDto;
+import com.study.StudyCafe.repository.ReservationRepository;
+import com.study.StudyCafe.repository.SeatRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 존별 하루 30분 단위 빈 좌석 수 (GET /api/zones/{id}/heatmap).
+ * 좌석마다 48비트 점유 마스크를 두고 슬롯별 점유 수를 미리 계산해 둔다.
+ * 예약/취소/홀드/만료는 SeatAvailabilityIndex 변경 알림으로 해당 좌석 마스크만 다시 계산해 반영한다.
+ * 캐시는 오늘부터 cache-days 일 뒤까지만 (존 수 × 일 수로 상한), 그 밖의 날짜는 매번 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class ZoneHeatmapService {
+
+    static final int SLOT_MINUTES = 30;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final SeatAvailabilityIndex seatAvailabilityIndex;
+    private final SeatRepository seatRepository;
+    private final ReservationRepository reservationRepository;
+    private final SeatHoldStore seatHoldStore;
+
+    private final Map<Long, Map<LocalDate, DayHeatmap>> cache = new ConcurrentHashMap<>();
+
+    @Value("${seat.heatmap.cache-days:14}")
+    private int cacheDays;
+
+    @PostConstruct
+    void register() {
+        seatAvailabilityIndex.addListener(this::onSeatChanged);
+    }
+
+    @Transactional(readOnly = true)
+    public ZoneHeatmapDto heatmap(Long zoneId, LocalDate date) {
+        DayHeatmap day;
+        if (seatAvailabilityIndex.isWarm(zoneId) && !cacheable(date)) {
+            day = DayHeatmap.of(seatAvailabilityIndex.occupancy(zoneId, null, date.atStartOfDay(),
+                    date.plusDays(1).atStartOfDay()), date);
+        } else if (seatAvailabilityIndex.isWarm(zoneId)) {
+            Map<LocalDate, DayHeatmap> days = cache.computeIfAbsent(zoneId, k -> new ConcurrentHashMap<>());
+            day = days.get(date);
+            if (day == null) {
+                long modsBefore = seatAvailabilityIndex.modCount(zoneId);
+                day = DayHeatmap.of(seatAvailabilityIndex.occupancy(zoneId, null, date.atStartOfDay(),
+                        date.plusDays(1).atStartOfDay()), date);
+                days.put(date, day);
+                // 계산 도중 변경이 있었으면 캐시에 두지 않는다 (다음 요청에서 다시 계산)
+                if (seatAvailabilityIndex.modCount(zoneId) != modsBefore) days.remove(date, day);
+            }
+        } else {
+            day = DayHeatmap.of(loadFromDatabase(zoneId, date), date);
+        }
+        return day.toDto(zoneId, date);
+    }
+
+    private boolean cacheable(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(cacheDays));
+    }
+
+    // 인덱스 커밋 후 알림: 캐시된 날짜마다 해당 좌석 마스크만 갱신
+    private void onSeatChanged(Long zoneId, Long seatId) {
+        Map<LocalDate, DayHeatmap> days = cache.get(zoneId);
+        if (days == null) return;
+        if (seatId == null) {
+            days.clear();
+            return;
+        }
+        days.forEach((date, day) -> {
+            var occupancy = seatAvailabilityIndex.occupancy(zoneId, List.of(seatId),
+                    date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+            day.update(seatId, mask(occupancy.getOrDefault(seatId, List.of()), date));
+        });
+    }
+
+    // 지난 날짜는 매시간 정리
+    @Scheduled(fixedRate = 3_600_000)
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        cache.values().forEach(days -> days.keySet().removeIf(d -> d.isBefore(today)));
+    }
+
+    // 인덱스 비활성/미워밍 존: 예약 구간 + 홀드를 한 번씩 조회해 계산 (캐시하지 않음)
+    private Map<Long, List<ReservationInterval>> loadFromDatabase(Long zoneId, LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.plusDays(1).atStartOfDay();
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<Long, List<ReservationInterval>> result = new HashMap<>();
+        for (SeatLayoutRow s : seatRepository.findLayoutRowsByZoneId(zoneId)) {
+            result.put(s.getId(), new ArrayList<>());
+        }
+        for (SeatHoldSnapshot h : seatHoldStore.activeHolds(zoneId)) {
+            List<ReservationInterval> intervals = result.get(h.getSeatId());
+            if (intervals != null && h.getHoldExpiresAt() != null && h.getHoldExpiresAt().isAfter(now)) {
+                intervals.add(new ReservationInterval(h.getSeatId(), zoneId, h.getHoldStartTime(), h.getHoldEndTime()));
+            }
+        }
+        for (ReservationInterval r : reservationRepository.findActiveIntervalsByZoneId(zoneId, dayStart)) {
+            if (r.getStartTime().isBefore(dayEnd)) {
+                result.computeIfAbsent(r.getSeatId(), k -> new ArrayList<>()).add(r);
+            }
+        }
+        return result;
+    }
+
+    /** 구간들이 덮는 30분 슬롯을 비트로 (bit i = i번째 슬롯) */
+    static long mask(List<ReservationInterval> intervals, LocalDate date) {
+        LocalDateTime dayStart = date.atStartOfDay();
+        long mask = 0L;
+        for (ReservationInterval r : intervals) {
+            long fromMin = Math.max(0, Duration.between(dayStart, r.getStartTime()).toMinutes());
+            long toMin = Math.min(SLOTS_PER_DAY * SLOT_MINUTES, Duration.between(dayStart, r.getEndTime()).toMinutes());
+            if (toMin <= fromMin) continue;
+            int first = (int) (fromMin / SLOT_MINUTES);
+            int last = (int) ((toMin + SLOT_MINUTES - 1) / SLOT_MINUTES); // exclusive
+            for (int i = first; i < last; i++) mask |= 1L << i;
+        }
+        return mask;
+    }
+
+    private static class DayHeatmap {
+        final Map<Long, Long> masks = new HashMap<>();
+        final int[] occupied = new int[SLOTS_PER_DAY];
+
+        static DayHeatmap of(Map<Long, List<ReservationInterval>> occupancy, LocalDate date) {
+            DayHeatmap day = new DayHeatmap();
+            occupancy.forEach((seatId, intervals) -> day.update(seatId, mask(intervals, date)));
+            return day;
+        }
+
+        synchronized void update(Long seatId, long newMask) {
+            Long old = masks.put(seatId, newMask);
+            long oldMask = old != null ? old : 0L;
+            long diff = oldMask ^ newMask;
+            while (diff != 0) {
+                int slot = Long.numberOfTrailingZeros(diff);
+                occupied[slot] += (newMask >>> slot & 1L) != 0 ? 1 : -1;
+                diff &= diff - 1;
+            }
+        }
+
+        synchronized ZoneHeatmapDto toDto(Long zoneId, LocalDate date) {
+            int total = masks.size();
+            List<ZoneHeatmapDto.Slot> slots = new ArrayList<>(SLOTS_PER_DAY);
+            for (int i = 0; i < SLOTS_PER_DAY; i++) {
+                slots.add(new ZoneHeatmapDto.Slot(
+                        date.atStartOfDay().plusMinutes((long) i * SLOT_MINUTES).toLocalTime(),
+                        total - occupied[i]));
+            }
+            return new ZoneHeatmapDto(zoneId, date, total, SLOT_MINUTES, slots);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.study.StudyCafe.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 존별 좌석 상태 버전 (단조 증가) + 최근 변경 링 버퍼.
+ * 좌석 상태가 바뀌는 커밋마다 올라가며, GET /api/seats 의 ETag 와
+ * GET /api/seats/changes 의 델타 동기화에 사용된다.
+ * 재기동 후에도 이전 버전과 겹치지 않도록 기동 시각(ms)에서 시작한다.
+ *
+ * 버전은 이 인스턴스의 커밋만 센다 → 단일 인스턴스 전제.
+ * Redis 에 heartbeat 를 남겨 살아 있는 인스턴스가 둘 이상이면(또는 확인할 수 없으면) authoritative() 가 false 가 되고,
+ * 그동안 ETag/304 와 델타 응답은 쓰지 않는다 (항상 전체 응답).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ZoneVersionRegistry {
+
+    private static final String INSTANCES_KEY = "seat:version:instances";
+
+    private final RedisTemplate<String, String> redisStringTemplate;
+
+    private final long baseVersion = System.currentTimeMillis();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<Long, ZoneLog> logs = new ConcurrentHashMap<>();
+    private volatile boolean authoritative;
+
+    @Value("${seat.changes.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${seat.changes.instance-ttl-ms:30000}")
+    private long instanceTtlMs;
+
+    /** 이 인스턴스의 버전을 믿어도 되는지 (살아 있는 인스턴스가 자신뿐일 때만 true) */
+    public boolean authoritative() {
+        return authoritative;
+    }
+
+    // ✅ 인스턴스 heartbeat: 자신을 갱신하고, ttl 안에 heartbeat 가 있는 인스턴스 수를 센다
+    @Scheduled(fixedDelayString = "${seat.changes.heartbeat-ms:10000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        try {
+            var zset = redisStringTemplate.opsForZSet();
+            zset.add(INSTANCES_KEY, instanceId, now);
+            zset.removeRangeByScore(INSTANCES_KEY, 0, now - instanceTtlMs);
+            Long live = zset.zCard(INSTANCES_KEY);
+            boolean single = live != null && live <= 1;
+            if (single != authoritative) {
+                log.info("[ZoneVersion] 살아 있는 인스턴스 {}개 → ETag/델타 {}", live, single ? "사용" : "중지");
+            }
+            authoritative = single;
+        } catch (RuntimeException e) {
+            if (authoritative) log.warn("[ZoneVersion] 인스턴스 확인 실패, ETag/델타 중지: {}", e.getMessage());
+            authoritative = false;
+        }
+    }
+
+    public long current(Long zoneId) {
+        ZoneLog log = logs.get(zoneId);
+        if (log == null) return baseVersion; // 변경이 기록된 적 없는 존
+        synchronized (log) {
+            return log.version;
+        }
+    }
+
+    /** 좌석 상태 변경을 커밋 후 기록 (버전 +1, 링 버퍼에 추가). 롤백되면 기록하지 않는다 */
+    public void record(Long zoneId, List<Long> seatIds, String status) {
+        if (zoneId == null) return;
+        List<Long> ids = List.copyOf(seatIds);
+        AfterCommit.run(() -> {
+            ZoneLog log = logFor(zoneId);
+            synchronized (log) {
+                log.version++;
+                log.append(new Change(log.version, ids, status));
+            }
+        });
+    }
+
+    /** 좌석 구성 자체가 바뀐 경우: 버전만 올리고 이전 버전 클라이언트는 전체 스냅샷을 받게 한다 */
+    public void bump(Long zoneId) {
+        if (zoneId == null) return;
+        AfterCommit.run(() -> {
+            ZoneLog log = logFor(zoneId);
+            synchronized (log) {
+                log.version++;
+                log.clear();
+                log.resetVersion = log.version;
+            }
+        });
+    }
+
+    /**
+     * since 이후 변경 목록. 버퍼에서 밀려났거나(너무 뒤처짐) 구성 변경이 있었으면 empty → 전체 스냅샷 필요.
+     */
+    public Optional<ChangeSet> changesSince(Long zoneId, long since) {
+        if (!authoritative) return Optional.empty();
+        ZoneLog log = logs.get(zoneId);
+        if (log == null) {
+            return since == baseVersion ? Optional.of(new ChangeSet(baseVersion, List.of())) : Optional.empty();
+        }
+        synchronized (log) {
+            if (since == log.version) return Optional.of(new ChangeSet(log.version, List.of()));
+            if (since > log.version || since < log.resetVersion) return Optional.empty();
+
+            List<Change> changes = log.after(since);
+            long oldestKept = changes.isEmpty() ? log.version : changes.get(0).getVersion();
+            if (oldestKept != since + 1) return Optional.empty();
+            return Optional.of(new ChangeSet(log.version, changes));
+        }
+    }
+
+    // 쓰기 경로(record/bump) 전용. 조회 경로는 logs.get 으로 없는 존에 로그를 만들지 않는다
+    private ZoneLog logFor(Long zoneId) {
+        return logs.computeIfAbsent(zoneId, k -> new ZoneLog(baseVersion, Math.max(bufferSize, 1)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Change {
+        private final long version;
+        private final List<Long> seatIds;
+        private final String status;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class ChangeSet {
+        private final long version;
+        private final List<Change> changes;
+    }
+
+    // 고정 크기 링 버퍼 (가장 오래된 변경부터 덮어씀)
+    private static class ZoneLog {
+        long version;
+        long resetVersion;
+        final Change[] ring;
+        int head;   // 다음 쓰기 위치
+        int size;
+
+        ZoneLog(long version, int capacity) {
+            this.version = version;
+            this.resetVersion = version;
+            this.ring = new Change[capacity];
+        }
+
+        void append(Change change) {
+            ring[head] = change;
+            head = (head + 1) % ring.length;
+            if (size < ring.length) size++;
+        }
+
+        void clear() {
+            Arrays.fill(ring, null);
+            head = 0;
+            size = 0;
+        }
+
+        List<Change> after(long since) {
+            List<Change> result = new ArrayList<>();
+            int start = (head - size + ring.length) % ring.length;
+            for (int i = 0; i < size; i++) {
+                Change c = ring[(start + i) % ring.length];
+                if (c.getVersion() > since) result.add(c);
+            }
+            return result;
+        }
+    }
+}
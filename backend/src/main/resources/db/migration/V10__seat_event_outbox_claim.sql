@@ -0,0 +1,4 @@
+-- 아웃박스 릴레이가 가져간 묶음 표시 (짧은 트랜잭션으로 가져가고 Redis 발행은 트랜잭션 밖에서)
+ALTER TABLE seat_event_outbox
+    ADD COLUMN claimed_by VARCHAR(36),
+    ADD COLUMN claimed_at DATETIME(6);
@@ -0,0 +1,2 @@
+-- 결제 확인이 보류된(UNVERIFIED) 사가를 나중에 예약까지 이어가기 위한 예약 요청(좌석/시간) 원문
+ALTER TABLE payment_saga ADD COLUMN request_payload TEXT;
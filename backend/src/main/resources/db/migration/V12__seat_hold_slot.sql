@@ -0,0 +1,38 @@
+-- 홀드가 차지하는 30분 슬롯 (SeatHoldSlot). (seat_id, slot_start) 유니크로 겹치는 홀드를 좌석 행 잠금 없이 DB 에서 막는다
+-- 홀드 행이 지워지면(해제/만료/예약 전환) 슬롯도 함께 지워진다 (ON DELETE CASCADE)
+CREATE TABLE seat_hold_slot (
+    id         BIGINT      NOT NULL,
+    seat_id    BIGINT      NOT NULL,
+    slot_start DATETIME(6) NOT NULL,
+    hold_id    BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_seat_hold_slot_seat_start UNIQUE (seat_id, slot_start),
+    INDEX idx_seat_hold_slot_hold (hold_id),
+    CONSTRAINT fk_seat_hold_slot_seat FOREIGN KEY (seat_id) REFERENCES seat (id),
+    CONSTRAINT fk_seat_hold_slot_hold FOREIGN KEY (hold_id) REFERENCES seat_hold (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+CREATE TABLE seat_hold_slot_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO seat_hold_slot_seq VALUES (1);
+
+-- 아직 유효한 기존 홀드의 슬롯 (ReservationSlot.slotStarts 와 같은 계산, 경계 슬롯이 겹치면 먼저 온 홀드만)
+INSERT IGNORE INTO seat_hold_slot (id, seat_id, slot_start, hold_id)
+WITH RECURSIVE s (hold_id, seat_id, slot_start, end_time) AS (
+    SELECT h.id, h.seat_id,
+           TIMESTAMP(DATE(h.start_time), MAKETIME(HOUR(h.start_time), MINUTE(h.start_time) DIV 30 * 30, 0)),
+           h.end_time
+    FROM seat_hold h
+    WHERE h.expires_at > NOW(6)
+    UNION ALL
+    SELECT hold_id, seat_id, slot_start + INTERVAL 30 MINUTE, end_time
+    FROM s
+    WHERE slot_start + INTERVAL 30 MINUTE < end_time
+)
+SELECT ROW_NUMBER() OVER (ORDER BY hold_id, slot_start), seat_id, slot_start, hold_id
+FROM s;
+
+-- 시퀀스는 pooled(allocationSize=50) 이므로 채운 id 보다 한 블록 위로 올려 둔다
+UPDATE seat_hold_slot_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM seat_hold_slot));
@@ -0,0 +1,3 @@
+-- 아웃박스 릴레이가 존 단위로 가져가도록: 존별 미발행 머리 행 / 존의 미발행 행을 id 순으로 찾는 인덱스
+ALTER TABLE seat_event_outbox
+    ADD INDEX idx_seat_event_outbox_zone_pending (published_at, zone_id, id);
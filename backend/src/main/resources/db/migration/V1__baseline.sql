@@ -0,0 +1,100 @@
+-- 기준선: ddl-auto=create 시절 Hibernate 가 만들던 스키마 (운영 DB 가 baseline-version=1 로 맞춰지는 상태)
+-- 이후 변경은 전부 V2 부터의 마이그레이션으로만 한다 (이 파일은 고치지 않는다)
+-- FK 컬럼은 InnoDB 가 제약 이름으로 인덱스를 자동 생성한다
+-- 운영 DB 의 FK/UK 이름은 Hibernate 가 만든 해시 이름이므로 이후 마이그레이션은 FK 이름에 기대지 않는다
+
+CREATE TABLE users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    email         VARCHAR(255),
+    name          VARCHAR(255),
+    phone         VARCHAR(255),
+    address       VARCHAR(255),
+    role          VARCHAR(255),
+    provider      VARCHAR(20),
+    provider_id   VARCHAR(100),
+    profile_image VARCHAR(255),
+    password      VARCHAR(255),
+    nickname      VARCHAR(255),
+    birth         DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE study_zone (
+    id          BIGINT       NOT NULL,
+    zone_name   VARCHAR(255),
+    description VARCHAR(255),
+    latitude    DOUBLE       NOT NULL,
+    longitude   DOUBLE       NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE study_zone_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO study_zone_seq VALUES (1);
+
+CREATE TABLE seat (
+    id              BIGINT      NOT NULL AUTO_INCREMENT,
+    zone_id         BIGINT,
+    seat_name       VARCHAR(255),
+    pos_x           INT         NOT NULL,
+    pos_y           INT         NOT NULL,
+    price           INT         NOT NULL,
+    status          VARCHAR(16) NOT NULL,
+    version         BIGINT,
+    hold_user_id    BIGINT,
+    hold_expires_at DATETIME(6),
+    hold_start_time DATETIME(6),
+    hold_end_time   DATETIME(6),
+    window_side     BIT         NOT NULL,
+    has_outlet      BIT         NOT NULL,
+    quiet           BIT         NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_seat_zone (zone_id),
+    INDEX idx_seat_status (status),
+    INDEX idx_seat_hold_expires (hold_expires_at),
+    CONSTRAINT fk_seat_zone FOREIGN KEY (zone_id) REFERENCES study_zone (id),
+    CONSTRAINT fk_seat_hold_user FOREIGN KEY (hold_user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE payments (
+    merchant_uid  VARCHAR(255) NOT NULL,
+    imp_uid       VARCHAR(255),
+    amount        INT          NOT NULL,
+    status        VARCHAR(255),
+    seat_names    VARCHAR(255),
+    start_time    DATETIME(6),
+    end_time      DATETIME(6),
+    total_minutes INT          NOT NULL,
+    user_id       BIGINT,
+    created_at    DATETIME(6),
+    study_name_id BIGINT,
+    PRIMARY KEY (merchant_uid),
+    CONSTRAINT fk_payments_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_payments_study_zone FOREIGN KEY (study_name_id) REFERENCES study_zone (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reservations (
+    id            BIGINT       NOT NULL,
+    start_time    DATETIME(6),
+    end_time      DATETIME(6),
+    total_minutes INT          NOT NULL,
+    status        VARCHAR(255),
+    seat_id       BIGINT,
+    user_id       BIGINT,
+    payment_id    VARCHAR(255),
+    is_notified   BIT          NOT NULL,
+    qr_token      VARCHAR(255),
+    is_used       BIT          NOT NULL,
+    qr_start_time DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_reservations_seat FOREIGN KEY (seat_id) REFERENCES seat (id),
+    CONSTRAINT fk_reservations_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_reservations_payment FOREIGN KEY (payment_id) REFERENCES payments (merchant_uid)
+) ENGINE = InnoDB;
+
+CREATE TABLE reservations_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO reservations_seq VALUES (1);
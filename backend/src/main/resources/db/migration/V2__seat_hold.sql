@@ -0,0 +1,41 @@
+-- 좌석 홀드를 seat 의 hold_* 컬럼에서 seat_hold 테이블로 옮긴다 (좌석+시간대당 한 행, SeatHold)
+CREATE TABLE seat_hold (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    seat_id    BIGINT      NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    start_time DATETIME(6) NOT NULL,
+    end_time   DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_seat_hold_window (seat_id, start_time, end_time),
+    INDEX idx_seat_hold_expires (expires_at),
+    CONSTRAINT fk_seat_hold_seat FOREIGN KEY (seat_id) REFERENCES seat (id),
+    CONSTRAINT fk_seat_hold_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+-- 아직 유효한 기존 홀드는 옮겨 둔다 (만료된 것은 버림)
+INSERT INTO seat_hold (seat_id, user_id, start_time, end_time, expires_at)
+SELECT id, hold_user_id, hold_start_time, hold_end_time, hold_expires_at
+FROM seat
+WHERE hold_user_id IS NOT NULL
+  AND hold_start_time IS NOT NULL AND hold_end_time IS NOT NULL
+  AND hold_expires_at > NOW(6);
+
+UPDATE seat SET status = 'available' WHERE status = 'hold';
+
+-- hold_user_id 의 FK 는 운영 DB 에서 Hibernate 가 만든 이름이라 information_schema 에서 찾아 지운다
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'seat'
+             AND COLUMN_NAME = 'hold_user_id' AND REFERENCED_TABLE_NAME IS NOT NULL
+           LIMIT 1);
+SET @sql = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE seat DROP FOREIGN KEY `', @fk, '`'));
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE seat
+    DROP INDEX idx_seat_hold_expires,
+    DROP COLUMN hold_user_id,
+    DROP COLUMN hold_expires_at,
+    DROP COLUMN hold_start_time,
+    DROP COLUMN hold_end_time;
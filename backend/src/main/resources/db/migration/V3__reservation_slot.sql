@@ -0,0 +1,17 @@
+-- 예약이 차지하는 30분 슬롯 (ReservationSlot). (seat_id, slot_start) 유니크로 겹치는 예약을 DB 에서 막는다
+CREATE TABLE reservation_slot (
+    id             BIGINT      NOT NULL,
+    seat_id        BIGINT      NOT NULL,
+    slot_start     DATETIME(6) NOT NULL,
+    reservation_id BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_reservation_slot_seat_start UNIQUE (seat_id, slot_start),
+    INDEX idx_reservation_slot_reservation (reservation_id),
+    CONSTRAINT fk_reservation_slot_seat FOREIGN KEY (seat_id) REFERENCES seat (id),
+    CONSTRAINT fk_reservation_slot_reservation FOREIGN KEY (reservation_id) REFERENCES reservations (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE reservation_slot_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+INSERT INTO reservation_slot_seq VALUES (1);
@@ -0,0 +1,10 @@
+-- 좌석 이벤트 아웃박스 (SeatEventOutbox). 트랜잭션 안에서 쓰고 SeatEventOutboxRelay 가 Redis 로 내보낸다
+CREATE TABLE seat_event_outbox (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    zone_id      BIGINT,
+    payload      TEXT        NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    published_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_seat_event_outbox_pending (published_at, id)
+) ENGINE = InnoDB;
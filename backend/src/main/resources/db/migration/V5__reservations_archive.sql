@@ -0,0 +1,24 @@
+-- 끝난 예약 보관 테이블 (ReservationArchive) + 보관/겹침 검사용 reservations 인덱스
+CREATE TABLE reservations_archive (
+    id            BIGINT       NOT NULL,
+    start_time    DATETIME(6),
+    end_time      DATETIME(6),
+    total_minutes INT          NOT NULL,
+    status        VARCHAR(255),
+    seat_id       BIGINT,
+    user_id       BIGINT,
+    payment_id    VARCHAR(255),
+    is_notified   BIT          NOT NULL,
+    qr_token      VARCHAR(255),
+    is_used       BIT          NOT NULL,
+    qr_start_time DATETIME(6),
+    archived_at   DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_reservations_archive_user (user_id, start_time),
+    INDEX idx_reservations_archive_seat (seat_id, start_time)
+) ENGINE = InnoDB;
+
+ALTER TABLE reservations
+    ADD INDEX idx_reservations_seat_window (seat_id, start_time, end_time),
+    ADD INDEX idx_reservations_start_time (start_time),
+    ADD INDEX idx_reservations_end_time (end_time);
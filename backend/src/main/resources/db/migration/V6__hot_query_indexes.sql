@@ -0,0 +1,19 @@
+-- ReservationRepository / PaymentRepository 조회용 인덱스 (ReservationQueryPlanTest 가 EXPLAIN 으로 확인)
+
+-- 겹침 검사 existsBySeatIdAndTimeOverlap / findOverlappingSeatIds / 존별 findOverlapping:
+--   seat_id 고정 후 end_time > :start 범위 (hot 테이블은 끝난 예약이 보관되어 짧다), 나머지 조건은 인덱스 안에서 판정
+-- 알림 대상 findByStartTimeBetweenAndIsNotifiedFalseAndStatus: 동등 조건 두 개 + start_time 범위
+-- 가용성 워밍 findActiveIntervals: status + end_time 범위, seat_id/start_time 까지 커버
+-- 결제 취소 findAllByPayment 는 fk_reservations_payment 자동 인덱스를 쓴다
+ALTER TABLE reservations
+    DROP INDEX idx_reservations_seat_window,
+    ADD INDEX idx_reservations_seat_overlap (seat_id, end_time, start_time, status),
+    DROP INDEX idx_reservations_start_time,
+    ADD INDEX idx_reservations_reminder (is_notified, status, start_time),
+    ADD INDEX idx_reservations_active (status, end_time, seat_id, start_time),
+    ADD INDEX idx_reservations_qr_token (qr_token);
+
+-- 결제 검증 findByImpUid, 사용자별 결제 목록 findByUserId
+ALTER TABLE payments
+    ADD INDEX idx_payments_imp_uid (imp_uid),
+    ADD INDEX idx_payments_user_created (user_id, created_at);
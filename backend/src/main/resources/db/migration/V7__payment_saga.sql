@@ -0,0 +1,14 @@
+-- 결제 확정 사가 상태 기록 (PaymentSaga)
+CREATE TABLE payment_saga (
+    merchant_uid    VARCHAR(255) NOT NULL,
+    imp_uid         VARCHAR(255),
+    user_email      VARCHAR(255),
+    amount          INT,
+    state           VARCHAR(20)  NOT NULL,
+    failure_reason  VARCHAR(500),
+    refund_attempts INT          NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    updated_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (merchant_uid),
+    INDEX idx_payment_saga_state (state, updated_at)
+) ENGINE = InnoDB;
@@ -0,0 +1,17 @@
+-- 결제 웹훅/요청 처리 대기열 (PaymentEvent)
+CREATE TABLE payment_event (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    merchant_uid VARCHAR(255) NOT NULL,
+    imp_uid      VARCHAR(255),
+    source       VARCHAR(16)  NOT NULL,
+    payload      TEXT,
+    status       VARCHAR(16)  NOT NULL,
+    attempts     INT          NOT NULL,
+    last_error   VARCHAR(500),
+    received_at  DATETIME(6)  NOT NULL,
+    available_at DATETIME(6)  NOT NULL,
+    processed_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_payment_event_ready (status, available_at),
+    INDEX idx_payment_event_merchant (merchant_uid, source)
+) ENGINE = InnoDB;
@@ -0,0 +1,25 @@
+-- reservation_slot 도입 전에 만들어진 아직 끝나지 않은 예약의 슬롯을 채운다 (ReservationSlot.slotStarts 와 같은 계산)
+-- 30분 단위 검사 전 예약은 경계가 어긋날 수 있어 바깥쪽으로 넓히고, 이웃 예약과 경계 슬롯이 겹치면 먼저 온 예약만 갖는다 (INSERT IGNORE)
+SET @base = (SELECT next_val FROM reservation_slot_seq);
+
+INSERT IGNORE INTO reservation_slot (id, seat_id, slot_start, reservation_id)
+WITH RECURSIVE s (reservation_id, seat_id, slot_start, end_time) AS (
+    SELECT r.id, r.seat_id,
+           TIMESTAMP(DATE(r.start_time), MAKETIME(HOUR(r.start_time), MINUTE(r.start_time) DIV 30 * 30, 0)),
+           r.end_time
+    FROM reservations r
+    WHERE r.status = 'RESERVED'
+      AND r.seat_id IS NOT NULL
+      AND r.end_time > NOW(6)
+      AND NOT EXISTS (SELECT 1 FROM reservation_slot x WHERE x.reservation_id = r.id)
+    UNION ALL
+    SELECT reservation_id, seat_id, slot_start + INTERVAL 30 MINUTE, end_time
+    FROM s
+    WHERE slot_start + INTERVAL 30 MINUTE < end_time
+)
+SELECT @base + ROW_NUMBER() OVER (ORDER BY reservation_id, slot_start), seat_id, slot_start, reservation_id
+FROM s;
+
+-- 시퀀스는 pooled(allocationSize=50) 이므로 채운 id 보다 한 블록 위로 올려 둔다
+UPDATE reservation_slot_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM reservation_slot));
@@ -0,0 +1,55 @@
+package com.study.StudyCafe;
+
+import com.study.StudyCafe.entity.User;
+import com.study.StudyCafe.repository.UserRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.*;
+
+// 벤치마크가 만든 사용자와 그 사용자의 예약/슬롯/결제/홀드를 지우고, 건드린 존의 좌석 상태를 되돌린다
+// 벤치마크 클래스의 @AfterAll 에서 cleanUp() 호출 (여러 스레드가 커밋하므로 트랜잭션 롤백으로는 못 되돌림)
+class BenchmarkData {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserRepository userRepository;
+    private final List<Long> userIds = new ArrayList<>();
+    private final Map<Long, String> seatStatus = new LinkedHashMap<>();
+
+    BenchmarkData(JdbcTemplate jdbcTemplate, UserRepository userRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+    }
+
+    Long createUser() {
+        Long id = userRepository.save(User.builder()
+                .email("bench-" + UUID.randomUUID() + "@studycafe.test")
+                .name("bench").build()).getId();
+        userIds.add(id);
+        return id;
+    }
+
+    /** 존 좌석의 현재 상태를 기억 (예약 경로가 status 를 reserved 로 바꾸므로) */
+    void rememberSeats(Long zoneId) {
+        jdbcTemplate.query("SELECT id, status FROM seat WHERE zone_id = ?",
+                rs -> { seatStatus.putIfAbsent(rs.getLong(1), rs.getString(2)); }, zoneId);
+    }
+
+    void cleanUp() {
+        if (!userIds.isEmpty()) {
+            String in = String.join(",", Collections.nCopies(userIds.size(), "?"));
+            Object[] args = userIds.toArray();
+            jdbcTemplate.update("DELETE FROM reservation_slot WHERE reservation_id IN "
+                    + "(SELECT id FROM reservations WHERE user_id IN (" + in + "))", args);
+            jdbcTemplate.update("DELETE FROM reservations WHERE user_id IN (" + in + ")", args);
+            jdbcTemplate.update("DELETE FROM payments WHERE user_id IN (" + in + ")", args);
+            jdbcTemplate.update("DELETE FROM seat_hold WHERE user_id IN (" + in + ")", args);
+            jdbcTemplate.update("DELETE FROM users WHERE id IN (" + in + ")", args);
+            userIds.clear();
+        }
+        if (!seatStatus.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE seat SET status = ? WHERE id = ?",
+                    seatStatus.entrySet().stream().map(e -> new Object[]{e.getValue(), e.getKey()}).toList());
+            seatStatus.clear();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.study.StudyCafe;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.study.StudyCafe.constant.PaymentSagaState;
+import com.study.StudyCafe.dto.payment.PaymentRequestDto;
+import com.study.StudyCafe.entity.Seat;
+import com.study.StudyCafe.entity.StudyZone;
+import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.repository.StudyZoneRepository;
+import com.study.StudyCafe.repository.UserRepository;
+import com.study.StudyCafe.service.IamportClient;
+import com.study.StudyCafe.service.IamportTokenManager;
+import com.study.StudyCafe.service.PaymentService;
+import com.study.StudyCafe.service.SeatCommandService;
+import com.study.StudyCafe.service.SeatHoldStore;
+import com.study.StudyCafe.service.SeatLockGuard;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+// 낙관 모드에서 결제 확정 예약 도중 같은 좌석의 다른 시간대 홀드가 먼저 커밋돼 version 충돌이 나도
+// 트랜잭션째 다시 실행해 예약되고, 이미 결제된 주문을 환불하지 않는지 확인
+// 게이트웨이는 목으로 두고, 예약 트랜잭션이 다른 사용자 홀드를 검사하는 순간 다른 스레드에서 홀드를 커밋시킨다
+// 실행: ./mvnw test -Pintegration -Dtest=PaymentReserveRetryTest
+@Tag("integration")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PaymentReserveRetryTest {
+
+    @Autowired private PaymentService paymentService;
+    @Autowired private SeatCommandService seatCommandService;
+    @Autowired private SeatLockGuard seatLockGuard;
+    @Autowired private StudyZoneRepository studyZoneRepository;
+    @Autowired private SeatRepository seatRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    @MockitoBean private IamportClient iamportClient;
+    @MockitoBean private IamportTokenManager iamportTokenManager;
+    @MockitoSpyBean private SeatHoldStore seatHoldStore;
+
+    private BenchmarkData data;
+    private final String merchantUid = "test_" + UUID.randomUUID();
+
+    @BeforeAll
+    void setUp() {
+        data = new BenchmarkData(jdbcTemplate, userRepository);
+        ReflectionTestUtils.setField(seatLockGuard, "mode", "optimistic");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ReflectionTestUtils.setField(seatLockGuard, "mode", "pessimistic");
+        jdbcTemplate.update("DELETE FROM payment_saga WHERE merchant_uid = ?", merchantUid);
+        data.cleanUp();
+    }
+
+    @Test
+    void conflictingHoldOnAnotherWindowDoesNotRefund() throws Exception {
+        StudyZone zone = studyZoneRepository.findAll().get(0);
+        Long seatId = seatRepository.findAllByZoneId(zone.getId()).stream().map(Seat::getId).sorted().findFirst().orElseThrow();
+        data.rememberSeats(zone.getId());
+        Long payer = data.createUser();
+        Long holder = data.createUser();
+
+        LocalDateTime start = LocalDateTime.now().plusYears(6).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime end = start.plusHours(1);
+        int amount = 60 * 10; // 좌석 1개 × 60분 × 분당 단가
+
+        PaymentRequestDto dto = new PaymentRequestDto();
+        dto.setImpUid("imp_" + merchantUid);
+        dto.setMerchantUid(merchantUid);
+        dto.setAmount(amount);
+        dto.setUserId(userRepository.findById(payer).orElseThrow().getEmail());
+        dto.setSeatIds(List.of(seatId));
+        dto.setStartTime(start.toString());
+        dto.setEndTime(end.toString());
+        dto.setZoneName(zone.getZoneName());
+
+        when(iamportTokenManager.call(any())).thenAnswer(inv ->
+                inv.<IamportTokenManager.TokenCall>getArgument(0).send("test-token"));
+        when(iamportClient.getPayment(anyString(), anyString())).thenReturn(new IamportClient.Response(200,
+                objectMapper.readTree("{\"response\":{\"status\":\"paid\",\"amount\":" + amount
+                        + ",\"merchant_uid\":\"" + merchantUid + "\"}}")));
+
+        // 첫 예약 시도의 트랜잭션 안에서 다른 사용자가 같은 좌석 다른 시간대를 홀드하고 커밋 → seat.version 증가
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(inv -> {
+            if (first.compareAndSet(true, false)) {
+                CompletableFuture.runAsync(() -> seatCommandService.holdSeat(seatId, holder, end.plusHours(1), end.plusHours(2))).join();
+            }
+            return inv.callRealMethod();
+        }).when(seatHoldStore).heldByOthers(any(), any(), any(), any());
+
+        PaymentSagaState state = paymentService.verifyAndReserve(dto);
+
+        assertThat(first).isFalse();
+        assertThat(state).isEqualTo(PaymentSagaState.RESERVED);
+        verify(iamportClient, never()).cancelPayment(anyString(), anyString(), anyString());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations WHERE user_id = ? AND seat_id = ?", Integer.class, payer, seatId)).isEqualTo(1);
+    }
+}
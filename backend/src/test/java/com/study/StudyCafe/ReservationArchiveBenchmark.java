@@ -0,0 +1,126 @@
+package com.study.StudyCafe;
+
+import com.study.StudyCafe.constant.ReservationStatus;
+import com.study.StudyCafe.entity.Seat;
+import com.study.StudyCafe.entity.StudyZone;
+import com.study.StudyCafe.entity.User;
+import com.study.StudyCafe.repository.ReservationRepository;
+import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.repository.StudyZoneRepository;
+import com.study.StudyCafe.repository.UserRepository;
+import com.study.StudyCafe.service.ReservationArchiveService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// 과거 예약 N건(기본 1,000만)이 쌓인 hot 테이블에서 예약 경로 조회 지연을 재고, 보관 후 다시 잰다
+// 실행: ./mvnw test -Dtest=ReservationArchiveBenchmark -Dbenchmark=true [-Dbenchmark.rows=10000000]
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReservationArchiveBenchmark {
+
+    private static final long BASE_ID = 9_000_000_000L;
+    private static final int SEED_ROWS = 10_000;
+    private static final int SEED_DAYS = 10;
+    private static final int ROUNDS = 50;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ReservationArchiveService reservationArchiveService;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private StudyZoneRepository studyZoneRepository;
+    @Autowired private SeatRepository seatRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void liveQueriesBeforeAndAfterArchival() {
+        long rows = Long.getLong("benchmark.rows", 10_000_000L);
+        StudyZone zone = studyZoneRepository.findAll().get(0);
+        List<Long> seats = seatRepository.findAllByZoneId(zone.getId()).stream().map(Seat::getId).sorted().toList();
+        Long userId = userRepository.save(User.builder()
+                .email("bench-" + UUID.randomUUID() + "@studycafe.test")
+                .name("bench").build()).getId();
+
+        try {
+            long t0 = System.nanoTime();
+            long loaded = loadHistory(rows, seats, userId);
+            System.out.printf("과거 예약 %,d건 적재 (%ds)%n", loaded, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - t0));
+
+            measure("보관 전", zone.getId(), seats);
+
+            t0 = System.nanoTime();
+            LocalDateTime cutoff = LocalDate.now().minusDays(1).atStartOfDay();
+            long moved = reservationArchiveService.archiveBefore(cutoff);
+            System.out.printf("보관 %,d건 (%ds)%n", moved, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - t0));
+
+            measure("보관 후", zone.getId(), seats);
+        } finally {
+            jdbcTemplate.update("DELETE FROM reservations_archive WHERE id >= ?", BASE_ID);
+            jdbcTemplate.update("DELETE FROM reservations WHERE id >= ?", BASE_ID);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    // 시드 1만 건(최근 10일) → 구간을 과거로 밀며 두 배씩 복제
+    private long loadHistory(long rows, List<Long> seats, Long userId) {
+        LocalDateTime seedEnd = LocalDate.now().minusDays(2).atStartOfDay();
+        List<Object[]> seed = new ArrayList<>(SEED_ROWS);
+        for (int i = 0; i < SEED_ROWS; i++) {
+            LocalDateTime start = seedEnd.minusMinutes((long) (i % (SEED_DAYS * 24)) * 60 + 60);
+            seed.add(new Object[]{BASE_ID + i, Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    seats.get(i % seats.size()), userId});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO reservations (id, start_time, end_time, total_minutes, status, seat_id, user_id, is_notified, is_used)
+                VALUES (?, ?, ?, 60, 'RESERVED', ?, ?, true, true)""", seed);
+
+        long count = SEED_ROWS;
+        long spanDays = SEED_DAYS;
+        while (count < rows) {
+            long copy = Math.min(count, rows - count);
+            jdbcTemplate.update("""
+                    INSERT INTO reservations (id, start_time, end_time, total_minutes, status, seat_id, user_id, is_notified, is_used)
+                    SELECT id + ?, start_time - INTERVAL ? DAY, end_time - INTERVAL ? DAY,
+                           total_minutes, status, seat_id, user_id, is_notified, is_used
+                    FROM reservations WHERE id >= ? AND id < ?""",
+                    count, spanDays, spanDays, BASE_ID, BASE_ID + copy);
+            count += copy;
+            spanDays *= 2;
+        }
+        jdbcTemplate.execute("ANALYZE TABLE reservations");
+        return count;
+    }
+
+    private void measure(String label, Long zoneId, List<Long> seats) {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime end = start.plusHours(2);
+        Long seatId = seats.get(0);
+        List<Long> someSeats = seats.subList(0, Math.min(4, seats.size()));
+        LocalDateTime now = LocalDateTime.now();
+
+        System.out.printf("[%s] 겹침(좌석 1) %.2fms | 겹침(좌석 %d) %.2fms | 존 유효 구간 %.2fms | 알림 대상 %.2fms%n", label,
+                avgMillis(() -> reservationRepository.existsBySeatIdAndTimeOverlap(seatId, start, end)),
+                someSeats.size(),
+                avgMillis(() -> reservationRepository.findOverlappingSeatIds(someSeats, start, end)),
+                avgMillis(() -> reservationRepository.findActiveIntervalsByZoneId(zoneId, now)),
+                avgMillis(() -> reservationRepository.findByStartTimeBetweenAndIsNotifiedFalseAndStatus(
+                        now, now.plusMinutes(30), ReservationStatus.RESERVED)));
+    }
+
+    private static double avgMillis(Supplier<?> query) {
+        query.get(); // 워밍업
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) query.get();
+        return TimeUnit.NANOSECONDS.toMicros((System.nanoTime() - t0) / ROUNDS) / 1000.0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.study.StudyCafe;
+
+import com.study.StudyCafe.entity.Seat;
+import com.study.StudyCafe.entity.StudyZone;
+import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.repository.StudyZoneRepository;
+import com.study.StudyCafe.repository.UserRepository;
+import com.study.StudyCafe.service.SeatCommandService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 1/4/10석 예약 한 건당 SQL 문 수와 지연 (집합 단위 예약 경로)
+// 실행: ./mvnw test -Dtest=ReservationBatchBenchmark -Dbenchmark=true
+// 만든 사용자/예약과 좌석 상태는 @AfterAll 에서 되돌린다 (BenchmarkData)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservationBatchBenchmark {
+
+    private static final int ROUNDS = 20;
+
+    @Autowired private SeatCommandService seatCommandService;
+    @Autowired private StudyZoneRepository studyZoneRepository;
+    @Autowired private SeatRepository seatRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private BenchmarkData data;
+
+    @BeforeAll
+    void setUp() {
+        data = new BenchmarkData(jdbcTemplate, userRepository);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        data.cleanUp();
+    }
+
+    @Test
+    void reserveOneFourAndTenSeats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        StudyZone zone = studyZoneRepository.findAll().get(0);
+        List<Long> seats = seatRepository.findAllByZoneId(zone.getId()).stream()
+                .map(Seat::getId).sorted().toList();
+        data.rememberSeats(zone.getId());
+        Long userId = data.createUser();
+
+        // 회차마다 겹치지 않는 먼 미래 구간
+        LocalDateTime slot = LocalDateTime.now().plusYears(6).withMinute(0).withSecond(0).withNano(0);
+        for (int n : new int[]{1, 4, 10}) {
+            List<Long> target = seats.subList(0, Math.min(n, seats.size()));
+            long statements = 0;
+            long totalNanos = 0;
+            for (int r = 0; r < ROUNDS; r++) {
+                statistics.clear();
+                long t0 = System.nanoTime();
+                seatCommandService.reserveSeats(target, userId, slot, slot.plusHours(1), null);
+                totalNanos += System.nanoTime() - t0;
+                statements += statistics.getPrepareStatementCount();
+                slot = slot.plusHours(1);
+            }
+            System.out.printf("%2d석: SQL %.1f문/건, 평균 %.1fms%n", target.size(),
+                    (double) statements / ROUNDS,
+                    TimeUnit.NANOSECONDS.toMicros(totalNanos / ROUNDS) / 1000.0);
+        }
+    }
+}
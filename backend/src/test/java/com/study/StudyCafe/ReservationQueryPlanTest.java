@@ -0,0 +1,138 @@
+package com.study.StudyCafe;
+
+import com.study.StudyCafe.constant.PaymentEventSource;
+import com.study.StudyCafe.constant.ReservationStatus;
+import com.study.StudyCafe.repository.PaymentEventRepository;
+import com.study.StudyCafe.repository.PaymentRepository;
+import com.study.StudyCafe.repository.ReservationRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ReservationRepository / PaymentRepository / PaymentEventRepository 메서드가 실제로 만든 SQL 을 잡아
+// 같은 파라미터(등장 순서)로 EXPLAIN 하고, 마이그레이션이 의도한 인덱스를 옵티마이저가 고르는지 확인
+// 빈 테이블에서는 옵티마이저가 전체 스캔을 고를 수 있어 데이터가 시드된 MySQL 에서 돌린다
+// 실행: ./mvnw test -Pintegration -Dtest=ReservationQueryPlanTest
+@Tag("integration")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.study.StudyCafe.ReservationQueryPlanTest$CapturedSql")
+class ReservationQueryPlanTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2099, 1, 1, 10, 0);
+    private static final LocalDateTime END = START.plusHours(2);
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ReservationRepository reservationRepository;
+    @Autowired private PaymentRepository paymentRepository;
+    @Autowired private PaymentEventRepository paymentEventRepository;
+
+    private final List<String> failures = new ArrayList<>();
+
+    @Test
+    void hotQueriesUseTheirIndexes() {
+        check("ReservationRepository.findByZoneIdAndStartTimeRange",
+                () -> reservationRepository.findByZoneIdAndStartTimeRange(1L, START, END),
+                List.of(1L, START, END), "idx_seat_zone", "idx_reservations_seat_overlap");
+        check("ReservationRepository.existsBySeatIdAndTimeOverlap",
+                () -> reservationRepository.existsBySeatIdAndTimeOverlap(1L, START, END),
+                List.of(1L, END, START), "idx_reservations_seat_overlap");
+        check("ReservationRepository.findOverlappingSeatIds",
+                () -> reservationRepository.findOverlappingSeatIds(List.of(1L, 2L, 3L), START, END),
+                List.of(1L, 2L, 3L, END, START), "idx_reservations_seat_overlap");
+        check("ReservationRepository.findOverlapping",
+                () -> reservationRepository.findOverlapping(1L, START, END),
+                List.of(1L, END, START), "idx_seat_zone", "idx_reservations_seat_overlap");
+        check("ReservationRepository.findAllByPayment",
+                () -> reservationRepository.findAllByPayment(paymentRepository.getReferenceById("mid_plan")),
+                List.of("mid_plan"), "fk_reservations_payment");
+        check("ReservationRepository.findByStartTimeBetweenAndIsNotifiedFalseAndStatus",
+                () -> reservationRepository.findByStartTimeBetweenAndIsNotifiedFalseAndStatus(
+                        START, END, ReservationStatus.RESERVED),
+                List.of(START, END, ReservationStatus.RESERVED.name()), "idx_reservations_reminder");
+        check("ReservationRepository.findByQrToken",
+                () -> reservationRepository.findByQrToken("qr_plan"),
+                List.of("qr_plan"), "idx_reservations_qr_token");
+        check("ReservationRepository.findFinishedIds",
+                () -> reservationRepository.findFinishedIds(START, PageRequest.of(0, 5000)),
+                List.of(START, 5000), "idx_reservations_end_time");
+        check("ReservationRepository.findActiveIntervals",
+                () -> reservationRepository.findActiveIntervals(START),
+                List.of(START), "idx_reservations_active");
+        check("ReservationRepository.findActiveIntervalsByZoneId",
+                () -> reservationRepository.findActiveIntervalsByZoneId(1L, START),
+                List.of(1L, START), "idx_seat_zone", "idx_reservations_seat_overlap|idx_reservations_active");
+        check("PaymentRepository.findByImpUid",
+                () -> paymentRepository.findByImpUid("imp_plan"),
+                List.of("imp_plan"), "idx_payments_imp_uid");
+        check("PaymentRepository.findByMerchantUid",
+                () -> paymentRepository.findByMerchantUid("mid_plan"),
+                List.of("mid_plan"), "PRIMARY");
+        check("PaymentRepository.findByUserId",
+                () -> paymentRepository.findByUserId(1L),
+                List.of(1L), "idx_payments_user_created");
+        check("PaymentEventRepository.findReadyIds",
+                () -> paymentEventRepository.findReadyIds(START, PageRequest.of(0, 64)),
+                List.of(START, 64), "idx_payment_event_ready");
+        check("PaymentEventRepository.findFirstByMerchantUidAndSourceOrderByIdDesc",
+                () -> paymentEventRepository.findFirstByMerchantUidAndSourceOrderByIdDesc("mid_plan", PaymentEventSource.CLIENT),
+                List.of("mid_plan", PaymentEventSource.CLIENT.name(), 1), "idx_payment_event_merchant");
+
+        assertThat(failures).as("예상 인덱스를 쓰지 않는 쿼리").isEmpty();
+    }
+
+    // call 이 처음 보낸 SQL 을 EXPLAIN → expected 마다 어떤 행의 key 와 같아야 함 ("a|b" 는 둘 중 하나)
+    private void check(String name, Runnable call, List<Object> params, String... expected) {
+        CapturedSql.clear();
+        call.run();
+        String sql = CapturedSql.first();
+        if (sql == null) {
+            failures.add(name + " → 실행된 SQL 없음");
+            return;
+        }
+        long placeholders = sql.chars().filter(c -> c == '?').count();
+        if (placeholders != params.size()) {
+            failures.add(name + " → 파라미터 " + placeholders + "개 (테스트는 " + params.size() + "개): " + sql);
+            return;
+        }
+
+        Set<String> keys = new HashSet<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql, params.toArray())) {
+            if (row.get("key") != null) keys.add(String.valueOf(row.get("key")));
+        }
+        for (String key : expected) {
+            if (Arrays.stream(key.split("\\|")).noneMatch(keys::contains)) {
+                failures.add(name + " → " + key + " 대신 " + keys + ": " + sql);
+            }
+        }
+    }
+
+    // Hibernate 가 보내는 SQL 을 호출 스레드별로 기록 (스케줄러 등 다른 스레드 쿼리는 섞이지 않음)
+    public static class CapturedSql implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            STATEMENTS.get().clear();
+        }
+
+        static String first() {
+            List<String> statements = STATEMENTS.get();
+            return statements.isEmpty() ? null : statements.get(0);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.study.StudyCafe;
+
+import com.study.StudyCafe.entity.StudyZone;
+import com.study.StudyCafe.repository.StudyZoneRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 좌석 목록 조회가 요청당 SQL 수를 늘리지 않도록 고정 (읽기 모델 1회 + 사용자/지점 조회 1회)
+// 시드된 MySQL 이 필요해 기본 빌드에서는 빠짐. 실행: ./mvnw test -Pintegration -Dtest=SeatListingQueryCountTest
+@Tag("integration")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class SeatListingQueryCountTest {
+
+    private static final long MAX_STATEMENTS_PER_REQUEST = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StudyZoneRepository studyZoneRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @WithMockUser(username = "query-count@studycafe.test")
+    void getSeatsRunsBoundedStatements() throws Exception {
+        StudyZone zone = studyZoneRepository.findAll().get(0);
+        String day = LocalDate.now().plusDays(1).toString();
+
+        statistics.clear();
+        mockMvc.perform(get("/api/seats")
+                        .param("zoneId", String.valueOf(zone.getId()))
+                        .param("startTime", day + "T14:00:00")
+                        .param("endTime", day + "T16:00:00"))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_REQUEST);
+    }
+
+    @Test
+    void parseAndListRunsBoundedStatements() throws Exception {
+        StudyZone zone = studyZoneRepository.findAll().get(0);
+
+        statistics.clear();
+        mockMvc.perform(post("/api/nlu/parse-and-list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"text\":\"내일 오후 2시부터 4시까지 " + zone.getZoneName() + "점 창가\"}"))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_REQUEST);
+    }
+}
@@ -0,0 +1,129 @@
+package com.study.StudyCafe;
+
+import com.study.StudyCafe.entity.Seat;
+import com.study.StudyCafe.entity.StudyZone;
+import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.repository.StudyZoneRepository;
+import com.study.StudyCafe.repository.UserRepository;
+import com.study.StudyCafe.service.SeatCommandService;
+import com.study.StudyCafe.service.SeatLockGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+// 홀드 → 예약 흐름에서 findByIdForUpdate(비관) 경로와 version 조건부 UPDATE(낙관) 경로의 처리량/지연 비교
+// 좌석이 스레드마다 다른 경우(경합 없음)와 몇 좌석에 몰리는 경우(경합) 각각 측정
+// 실행: ./mvnw test -Dtest=SeatLockContentionBenchmark -Dbenchmark=true
+// 만든 사용자/예약/홀드와 좌석 상태는 @AfterAll 에서 되돌린다 (BenchmarkData)
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SeatLockContentionBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int OPS_PER_THREAD = 30;
+    private static final int HOT_SEATS = 2;
+
+    @Autowired private SeatCommandService seatCommandService;
+    @Autowired private SeatLockGuard seatLockGuard;
+    @Autowired private StudyZoneRepository studyZoneRepository;
+    @Autowired private SeatRepository seatRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private BenchmarkData data;
+
+    @BeforeAll
+    void setUp() {
+        data = new BenchmarkData(jdbcTemplate, userRepository);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ReflectionTestUtils.setField(seatLockGuard, "mode", "pessimistic");
+        data.cleanUp();
+    }
+
+    @Test
+    void comparePessimisticAndOptimisticPaths() throws Exception {
+        StudyZone zone = studyZoneRepository.findAll().get(0);
+        List<Long> seats = seatRepository.findAllByZoneId(zone.getId()).stream()
+                .map(Seat::getId).sorted().toList();
+        data.rememberSeats(zone.getId());
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            users.add(data.createUser());
+        }
+
+        // 회차마다 겹치지 않는 먼 미래 구간을 사용
+        LocalDateTime base = LocalDateTime.now().plusYears(5).withMinute(0).withSecond(0).withNano(0);
+        int window = THREADS * OPS_PER_THREAD;
+        for (String mode : List.of("pessimistic", "optimistic")) {
+            ReflectionTestUtils.setField(seatLockGuard, "mode", mode);
+            Result spread = run(seats, users, base);
+            base = base.plusHours(window);
+            Result hot = run(seats.subList(0, Math.min(HOT_SEATS, seats.size())), users, base);
+            base = base.plusHours(window);
+            System.out.printf("%-11s spread: %.0f ops/s, p50=%dms, p99=%dms | hot: %.0f ops/s, p50=%dms, p99=%dms%n",
+                    mode, spread.opsPerSec, spread.p50, spread.p99, hot.opsPerSec, hot.p50, hot.p99);
+        }
+        System.out.printf("optimistic retries=%.0f, aborts=%.0f%n",
+                meterRegistry.find("seat.lock.retry").counters().stream().mapToDouble(c -> c.count()).sum(),
+                meterRegistry.find("seat.lock.abort").counters().stream().mapToDouble(c -> c.count()).sum());
+    }
+
+    private Result run(List<Long> seats, List<Long> users, LocalDateTime base) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Long userId = users.get(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    Long seatId = seats.get((thread + i) % seats.size());
+                    // 구간은 요청마다 달라 시간 충돌은 없고, 같은 좌석 행 경합만 남는다
+                    LocalDateTime s = base.plusHours((long) thread * OPS_PER_THREAD + i);
+                    long t0 = System.nanoTime();
+                    try {
+                        seatCommandService.holdSeat(seatId, userId, s, s.plusHours(1));
+                        seatCommandService.reserveSeats(List.of(seatId), userId, s, s.plusHours(1), null);
+                    } catch (RuntimeException ignored) {
+                        // 포기(재시도 초과)도 처리된 요청으로 계산
+                    }
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+                }
+                return null;
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        pool.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(sorted.size() / seconds,
+                sorted.get(sorted.size() / 2),
+                sorted.get((int) (sorted.size() * 0.99)));
+    }
+
+    private record Result(double opsPerSec, long p50, long p99) {}
+}
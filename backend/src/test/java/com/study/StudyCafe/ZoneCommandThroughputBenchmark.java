@@ -0,0 +1,117 @@
+package com.study.StudyCafe;
+
+import com.study.StudyCafe.entity.Seat;
+import com.study.StudyCafe.entity.StudyZone;
+import com.study.StudyCafe.repository.SeatRepository;
+import com.study.StudyCafe.repository.StudyZoneRepository;
+import com.study.StudyCafe.repository.UserRepository;
+import com.study.StudyCafe.service.SeatCommandService;
+import com.study.StudyCafe.service.ZoneCommandExecutor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+// 같은 존 좌석 몇 개에 홀드/해제가 몰릴 때 행 락 경로와 존 메일박스 경로의 처리량/지연 비교
+// 실행: ./mvnw test -Dtest=ZoneCommandThroughputBenchmark -Dbenchmark=true
+// 만든 사용자와 남은 홀드는 @AfterAll 에서 지운다 (BenchmarkData)
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ZoneCommandThroughputBenchmark {
+
+    private static final int THREADS = 32;
+    private static final int OPS_PER_THREAD = 50;
+    private static final int HOT_SEATS = 4;
+
+    @Autowired private SeatCommandService seatCommandService;
+    @Autowired private ZoneCommandExecutor zoneCommandExecutor;
+    @Autowired private StudyZoneRepository studyZoneRepository;
+    @Autowired private SeatRepository seatRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private BenchmarkData data;
+
+    @BeforeAll
+    void setUp() {
+        data = new BenchmarkData(jdbcTemplate, userRepository);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        ReflectionTestUtils.setField(zoneCommandExecutor, "enabled", false);
+        data.cleanUp();
+    }
+
+    @Test
+    void compareLockingAndActorPaths() throws Exception {
+        StudyZone zone = studyZoneRepository.findAll().get(0);
+        List<Long> hotSeats = seatRepository.findAllByZoneId(zone.getId()).stream()
+                .map(Seat::getId).sorted().limit(HOT_SEATS).toList();
+        List<Long> users = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            users.add(data.createUser());
+        }
+
+        ReflectionTestUtils.setField(zoneCommandExecutor, "enabled", false);
+        Result locking = run(hotSeats, users);
+        ReflectionTestUtils.setField(zoneCommandExecutor, "enabled", true);
+        Result actor = run(hotSeats, users);
+        ReflectionTestUtils.setField(zoneCommandExecutor, "enabled", false);
+
+        System.out.printf("locking: %.0f ops/s, p50=%dms, p99=%dms%n", locking.opsPerSec, locking.p50, locking.p99);
+        System.out.printf("actor  : %.0f ops/s, p50=%dms, p99=%dms%n", actor.opsPerSec, actor.p50, actor.p99);
+    }
+
+    private Result run(List<Long> seats, List<Long> users) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        LocalDateTime base = LocalDateTime.now().plusDays(2).withMinute(0).withSecond(0).withNano(0);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            Long userId = users.get(t);
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    Long seatId = seats.get(i % seats.size());
+                    LocalDateTime s = base.plusHours(i % 8);
+                    long t0 = System.nanoTime();
+                    try {
+                        seatCommandService.holdSeat(seatId, userId, s, s.plusHours(1));
+                        seatCommandService.releaseHold(seatId, userId);
+                    } catch (RuntimeException ignored) {
+                        // 충돌(409)도 처리된 요청으로 계산
+                    }
+                    latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - t0));
+                }
+                return null;
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) f.get();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        pool.shutdown();
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(sorted.size() / seconds,
+                sorted.get(sorted.size() / 2),
+                sorted.get((int) (sorted.size() * 0.99)));
+    }
+
+    private record Result(double opsPerSec, long p50, long p99) {}
+}